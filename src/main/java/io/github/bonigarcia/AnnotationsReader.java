@@ -84,7 +84,11 @@ public class AnnotationsReader {
         Optional<URL> out = empty();
         String seleniumServerUrl = config().getSeleniumServerUrl();
 
-        if (seleniumServerUrl != null && !seleniumServerUrl.isEmpty()) {
+        if (HubBalancer.isBalanced(seleniumServerUrl)) {
+            // Sessions are balanced by the handlers, first URL by default
+            out = of(HubBalancer.parseUrls(seleniumServerUrl).get(0));
+        } else if (seleniumServerUrl != null
+                && !seleniumServerUrl.isEmpty()) {
             out = of(new URL(seleniumServerUrl));
         } else {
             String urlValue = null;
@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.appium.java_client.service.local.AppiumServiceBuilder;
+
+/**
+ * Pool of Appium servers shared by the tests of the JVM. Each server listens
+ * in its own port and it is leased to a single test at a time, so parallel
+ * tests use different servers. Idle servers are checked before being leased
+ * again, and all of them are stopped when the test plan finishes (the pool is
+ * kept in the root store of the extension context). Tests wait for a server
+ * up to a timeout when all of them are in use.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class AppiumServicePool implements CloseableResource {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final Namespace NAMESPACE = Namespace
+            .create(AppiumServicePool.class);
+
+    private final int size;
+    private final int timeoutSec;
+    private final List<AppiumDriverLocalService> services = new ArrayList<>();
+    private final Deque<AppiumDriverLocalService> idleServices = new ArrayDeque<>();
+    private int reservedSlots;
+
+    public AppiumServicePool(int size, int timeoutSec) {
+        this.size = size;
+        this.timeoutSec = timeoutSec;
+    }
+
+    /**
+     * Pool stored in the root context, or null if Appium servers are not
+     * shared (pool size 0).
+     */
+    public static AppiumServicePool getInstance(ExtensionContext context) {
+        int size = config().getAppiumServicePoolSize();
+        if (size <= 0) {
+            return null;
+        }
+        int timeoutSec = config().getAppiumServicePoolTimeoutSec();
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                AppiumServicePool.class,
+                key -> new AppiumServicePool(size, timeoutSec),
+                AppiumServicePool.class);
+    }
+
+    /**
+     * Lease a healthy Appium server, starting a new one if no server is idle
+     * and the pool is not full, or waiting for a server to be released
+     * otherwise (SeleniumJupiterException is thrown if no server is released
+     * in the timeout).
+     */
+    public AppiumDriverLocalService acquire() throws InterruptedException {
+        while (true) {
+            AppiumDriverLocalService service = pollIdleOrReserveSlot();
+            if (service == null) {
+                return startService();
+            }
+            if (isHealthy(service)) {
+                log.trace("Reusing Appium server at {}", service.getUrl());
+                return service;
+            }
+            log.warn("Appium server at {} is not healthy, discarding it",
+                    service.getUrl());
+            discard(service);
+        }
+    }
+
+    public synchronized void release(AppiumDriverLocalService service) {
+        if (services.contains(service)) {
+            idleServices.push(service);
+            notifyAll();
+        }
+    }
+
+    public synchronized int getServerCount() {
+        return services.size();
+    }
+
+    @Override
+    public void close() {
+        List<AppiumDriverLocalService> servicesToStop;
+        synchronized (this) {
+            servicesToStop = new ArrayList<>(services);
+            services.clear();
+            idleServices.clear();
+        }
+        for (AppiumDriverLocalService service : servicesToStop) {
+            log.debug("Stopping Appium server at {}", service.getUrl());
+            try {
+                service.stop();
+            } catch (Exception e) {
+                log.warn("Exception stopping Appium server", e);
+            }
+        }
+    }
+
+    private synchronized AppiumDriverLocalService pollIdleOrReserveSlot()
+            throws InterruptedException {
+        long timeoutMs = currentTimeMillis() + SECONDS.toMillis(timeoutSec);
+        while (idleServices.isEmpty()
+                && services.size() + reservedSlots >= size) {
+            long waitMs = timeoutMs - currentTimeMillis();
+            if (waitMs <= 0) {
+                throw new SeleniumJupiterException("Timeout of " + timeoutSec
+                        + " seconds waiting for an Appium server (" + size
+                        + " in use)");
+            }
+            wait(waitMs);
+        }
+        if (!idleServices.isEmpty()) {
+            return idleServices.pop();
+        }
+        reservedSlots++;
+        return null;
+    }
+
+    private AppiumDriverLocalService startService() {
+        // Servers are started out of the lock, since it takes seconds
+        AppiumDriverLocalService service = null;
+        boolean started = false;
+        try {
+            service = createService();
+            started = true;
+            log.debug("Started Appium server at {}", service.getUrl());
+            return service;
+        } finally {
+            synchronized (this) {
+                reservedSlots--;
+                if (started) {
+                    services.add(service);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Start a new Appium server in a free port.
+     */
+    protected AppiumDriverLocalService createService() {
+        AppiumDriverLocalService service = AppiumDriverLocalService
+                .buildService(new AppiumServiceBuilder().usingAnyFreePort());
+        service.start();
+        return service;
+    }
+
+    protected boolean isHealthy(AppiumDriverLocalService service) {
+        return service.isRunning();
+    }
+
+    private void discard(AppiumDriverLocalService service) {
+        synchronized (this) {
+            services.remove(service);
+            notifyAll();
+        }
+        try {
+            service.stop();
+        } catch (Exception e) {
+            log.warn("Exception stopping Appium server", e);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import org.openqa.selenium.Capabilities;
+
+import io.github.bonigarcia.handler.DriverHandler;
+
+/**
+ * Immutable settings of a Selenoid browser type (built from configuration).
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class BrowserDescriptor {
+
+    private final String dockerImage;
+    private final String path;
+    private final DriverHandler driverHandler;
+    private final String optionsKey;
+    private final Capabilities capabilities;
+    private final String configSnapshot;
+
+    public BrowserDescriptor(String dockerImage, String path,
+            DriverHandler driverHandler, String optionsKey,
+            Capabilities capabilities, String configSnapshot) {
+        this.dockerImage = dockerImage;
+        this.path = path;
+        this.driverHandler = driverHandler;
+        this.optionsKey = optionsKey;
+        this.capabilities = capabilities;
+        this.configSnapshot = configSnapshot;
+    }
+
+    public String getDockerImage() {
+        return dockerImage;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public DriverHandler getDriverHandler() {
+        return driverHandler;
+    }
+
+    public String getOptionsKey() {
+        return optionsKey;
+    }
+
+    public Capabilities getCapabilities() {
+        return capabilities;
+    }
+
+    /**
+     * State of the configuration from which the descriptor was built.
+     */
+    public String getConfigSnapshot() {
+        return configSnapshot;
+    }
+
+}
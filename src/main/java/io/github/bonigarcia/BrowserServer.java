@@ -0,0 +1,444 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.io.IOUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.bonigarcia.handler.DockerDriverHandler;
+
+/**
+ * Long-running server which creates, lists and destroys browsers in Docker
+ * through a local HTTP API (server mode of the command line interface):
+ *
+ * <pre>
+ * POST   /sessions       {"browser": "chrome", "version": "65.0"}
+ * GET    /sessions
+ * GET    /sessions/{id}
+ * DELETE /sessions/{id}
+ * GET    /status
+ * </pre>
+ *
+ * Each browser type and version has a pool of started and idle browsers
+ * (sel.jup.server.pool.size), which are handed out at once and replenished
+ * in background. The API is only served in the loopback address, unless
+ * other address is configured (sel.jup.server.bind.address).
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class BrowserServer {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final String SESSIONS_PATH = "/sessions";
+    static final String STATUS_PATH = "/status";
+
+    private final int port;
+    private final int poolSize;
+    private final Map<String, BrowserSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Deque<BrowserSession>> idleSessions = new HashMap<>();
+    private final Map<String, Integer> startingSessions = new HashMap<>();
+    private final ExecutorService executorService = newCachedThreadPool();
+    private final CountDownLatch stopLatch = new CountDownLatch(1);
+    private final Gson gson = new Gson();
+    private HttpServer httpServer;
+    private boolean stopped;
+
+    public BrowserServer(int port, int poolSize) {
+        this.port = port;
+        this.poolSize = poolSize;
+    }
+
+    public void start() throws IOException {
+        // Only local clients by default, since the API has no authentication
+        String bindAddress = config().getServerBindAddress();
+        InetAddress address = bindAddress.isEmpty()
+                ? InetAddress.getLoopbackAddress()
+                : InetAddress.getByName(bindAddress);
+        httpServer = HttpServer.create(new InetSocketAddress(address, port),
+                0);
+        httpServer.createContext(SESSIONS_PATH, this::handleSessions);
+        httpServer.createContext(STATUS_PATH, this::handleStatus);
+        httpServer.setExecutor(executorService);
+        httpServer.start();
+        log.info("Selenium-Jupiter server listening at {}", getUrl());
+    }
+
+    public String getUrl() {
+        InetAddress address = getAddress().getAddress();
+        String host = address.isAnyLocalAddress()
+                || address.isLoopbackAddress() ? "localhost"
+                        : address.getHostAddress();
+        return "http://" + host + ":" + getAddress().getPort();
+    }
+
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+
+    /**
+     * Fill the pool of the browsers given as a comma-separated list of
+     * browser types and optional versions (e.g. chrome,firefox:58.0).
+     */
+    public void warm(String browsers) {
+        for (String browser : browsers.split(",")) {
+            String[] browserAndVersion = browser.trim().split(":", 2);
+            if (!browserAndVersion[0].isEmpty()) {
+                replenish(getBrowserType(browserAndVersion[0]),
+                        browserAndVersion.length > 1 ? browserAndVersion[1]
+                                : "");
+            }
+        }
+    }
+
+    /**
+     * Browser of the pool (if any) or a new one otherwise.
+     */
+    public BrowserSession create(BrowserType browser, String version) {
+        BrowserSession session;
+        synchronized (this) {
+            Deque<BrowserSession> idle = idleSessions
+                    .get(getKey(browser, version));
+            session = idle != null ? idle.poll() : null;
+        }
+        if (session != null) {
+            log.debug("Using browser {} from the pool", session.getId());
+        } else {
+            session = startSession(browser, version);
+        }
+        // Sessions started while the server is stopping are not kept
+        boolean kept;
+        synchronized (this) {
+            kept = !stopped;
+            if (kept) {
+                sessions.put(session.getId(), session);
+            }
+        }
+        if (!kept) {
+            session.close();
+            throw new SeleniumJupiterException(
+                    "Selenium-Jupiter server is stopped");
+        }
+        replenish(browser, version);
+        return session;
+    }
+
+    public List<BrowserSession> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    public BrowserSession getSession(String id) {
+        return sessions.get(id);
+    }
+
+    public boolean destroy(String id) {
+        BrowserSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    public synchronized int getIdleSessions() {
+        return idleSessions.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    public void stop() {
+        List<BrowserSession> sessionsToClose = new ArrayList<>();
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            idleSessions.values().forEach(sessionsToClose::addAll);
+            idleSessions.clear();
+            sessionsToClose.addAll(sessions.values());
+            sessions.clear();
+        }
+        log.info("Stopping Selenium-Jupiter server");
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        sessionsToClose.forEach(BrowserSession::close);
+        executorService.shutdownNow();
+        stopLatch.countDown();
+    }
+
+    public void awaitStop() throws InterruptedException {
+        stopLatch.await();
+    }
+
+    /**
+     * Start a browser in Docker, each one with its own handler (and therefore
+     * its own Selenoid container).
+     */
+    protected BrowserSession startSession(BrowserType browser,
+            String version) {
+        DockerDriverHandler dockerDriverHandler;
+        try {
+            dockerDriverHandler = new DockerDriverHandler();
+        } catch (Exception e) {
+            throw new SeleniumJupiterException(e);
+        }
+        try {
+            WebDriver webdriver = dockerDriverHandler.resolve(browser,
+                    version);
+            String vncUrl = config().isVnc()
+                    ? dockerDriverHandler.startVncViewer()
+                    : null;
+            return new BrowserSession(browser.name().toLowerCase(), version,
+                    dockerDriverHandler.getHubUrl(),
+                    ((RemoteWebDriver) webdriver).getSessionId().toString(),
+                    vncUrl, () -> {
+                        try {
+                            webdriver.quit();
+                        } finally {
+                            try {
+                                dockerDriverHandler.cleanup();
+                            } finally {
+                                dockerDriverHandler.close();
+                            }
+                        }
+                    });
+        } catch (Exception e) {
+            dockerDriverHandler.cleanup();
+            dockerDriverHandler.close();
+            throw e instanceof SeleniumJupiterException
+                    ? (SeleniumJupiterException) e
+                    : new SeleniumJupiterException(e);
+        }
+    }
+
+    private void replenish(BrowserType browser, String version) {
+        String key = getKey(browser, version);
+        int count;
+        synchronized (this) {
+            Deque<BrowserSession> idle = idleSessions.computeIfAbsent(key,
+                    k -> new ArrayDeque<>());
+            int starting = startingSessions.getOrDefault(key, 0);
+            count = stopped ? 0 : poolSize - idle.size() - starting;
+            if (count <= 0) {
+                return;
+            }
+            startingSessions.put(key, starting + count);
+        }
+        log.debug("Starting {} browser(s) {} for the pool", count, key);
+        for (int i = 0; i < count; i++) {
+            executorService.submit(() -> startPooledSession(key, browser,
+                    version));
+        }
+    }
+
+    private void startPooledSession(String key, BrowserType browser,
+            String version) {
+        BrowserSession session = null;
+        try {
+            session = startSession(browser, version);
+        } catch (Exception e) {
+            log.warn("Exception starting browser {} for the pool", key, e);
+        }
+        synchronized (this) {
+            startingSessions.merge(key, -1, Integer::sum);
+            if (session != null && !stopped) {
+                idleSessions.get(key).add(session);
+                return;
+            }
+        }
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String id = path.length() > SESSIONS_PATH.length() + 1
+                    ? path.substring(SESSIONS_PATH.length() + 1)
+                    : "";
+            String body = IOUtils.toString(exchange.getRequestBody(), "UTF-8");
+
+            if (id.isEmpty() && method.equals("POST")) {
+                SessionRequest request = gson.fromJson(body,
+                        SessionRequest.class);
+                if (request == null || request.browser == null) {
+                    respond(exchange, 400,
+                            getMessage("The browser is required"));
+                    return;
+                }
+                BrowserType browser = getBrowserType(request.browser);
+                String version = request.version != null ? request.version
+                        : "";
+                respond(exchange, 201, gson.toJson(create(browser, version)));
+            } else if (id.isEmpty() && method.equals("GET")) {
+                respond(exchange, 200, gson.toJson(getSessions()));
+            } else if (!id.isEmpty() && method.equals("GET")) {
+                BrowserSession session = getSession(id);
+                respond(exchange, session != null ? 200 : 404,
+                        session != null ? gson.toJson(session)
+                                : getMessage("Session " + id + " not found"));
+            } else if (!id.isEmpty() && method.equals("DELETE")) {
+                if (destroy(id)) {
+                    respond(exchange, 204, null);
+                } else {
+                    respond(exchange, 404,
+                            getMessage("Session " + id + " not found"));
+                }
+            } else {
+                respond(exchange, 405, getMessage(
+                        "Method " + method + " not allowed in " + path));
+            }
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, getMessage(e.getMessage()));
+        } catch (Exception e) {
+            log.warn("Exception handling request {}",
+                    exchange.getRequestURI(), e);
+            respond(exchange, 500, getMessage(String.valueOf(e)));
+        }
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        Map<String, Integer> status = new HashMap<>();
+        status.put("sessions", sessions.size());
+        status.put("idle", getIdleSessions());
+        respond(exchange, 200, gson.toJson(status));
+    }
+
+    private void respond(HttpExchange exchange, int status, String body)
+            throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes("UTF-8");
+        exchange.getResponseHeaders().add("Content-Type",
+                "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private String getMessage(String message) {
+        return gson.toJson(singletonMap("message", message));
+    }
+
+    private BrowserType getBrowserType(String browser) {
+        try {
+            return BrowserType.valueOf(browser.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Browser " + browser + " is not valid");
+        }
+    }
+
+    private String getKey(BrowserType browser, String version) {
+        return browser + ":" + version;
+    }
+
+    static class SessionRequest {
+        String browser;
+        String version;
+    }
+
+    /**
+     * Browser handed out by the server (serialized as JSON in the API).
+     */
+    public static class BrowserSession {
+        String id;
+        String browser;
+        String version;
+        String hubUrl;
+        String vncUrl;
+        long created = currentTimeMillis();
+        transient Runnable closer;
+
+        public BrowserSession(String browser, String version, String hubUrl,
+                String sessionId, String vncUrl, Runnable closer) {
+            this.id = sessionId;
+            this.browser = browser;
+            this.version = version;
+            this.hubUrl = hubUrl;
+            this.vncUrl = vncUrl;
+            this.closer = closer;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getHubUrl() {
+            return hubUrl;
+        }
+
+        public String getVncUrl() {
+            return vncUrl;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public void close() {
+            try {
+                closer.run();
+            } catch (Exception e) {
+                getLogger(lookup().lookupClass())
+                        .warn("Exception closing browser {}", id, e);
+            }
+        }
+    }
+
+}
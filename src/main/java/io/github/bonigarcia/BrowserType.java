@@ -22,6 +22,8 @@ import static java.lang.invoke.MethodHandles.lookup;
 import static org.openqa.selenium.Platform.ANY;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.opera.OperaOptions;
@@ -45,36 +47,64 @@ public enum BrowserType {
 
     final Logger log = getLogger(lookup().lookupClass());
 
-    String dockerImage;
-    String path;
-    DriverHandler driverHandler;
-    String optionsKey;
-    DesiredCapabilities capabilities;
+    private volatile BrowserDescriptor descriptor;
 
+    /**
+     * Forces the reload of the browser descriptor from the configuration.
+     */
     public void init() {
+        descriptor = createDescriptor(getConfigSnapshot());
+    }
+
+    public BrowserDescriptor getDescriptor() {
+        BrowserDescriptor current = descriptor;
+        String configSnapshot = getConfigSnapshot();
+        if (current == null
+                || !current.getConfigSnapshot().equals(configSnapshot)) {
+            current = createDescriptor(configSnapshot);
+            descriptor = current;
+        }
+        return current;
+    }
+
+    /**
+     * Revision of the configuration, plus the image format and path of the
+     * browser set with Java properties or environment variables (e.g. between
+     * tests), which are not counted in the revision.
+     */
+    private String getConfigSnapshot() {
+        String prefix = "sel.jup." + name().toLowerCase();
+        return config().getRevision() + " "
+                + config().getExternalValue(prefix + ".image.format") + " "
+                + config().getExternalValue(prefix + ".path");
+    }
+
+    private BrowserDescriptor createDescriptor(String configSnapshot) {
+        log.trace("Creating descriptor of {} (configuration {})", this,
+                configSnapshot);
         switch (this) {
         case FIREFOX:
-            dockerImage = config().getFirefoxImageFormat();
-            path = config().getFirefoxPath();
-            driverHandler = new FirefoxDriverHandler();
-            optionsKey = FirefoxOptions.FIREFOX_OPTIONS;
-            capabilities = new DesiredCapabilities("firefox", "", ANY);
-            break;
+            return new BrowserDescriptor(config().getFirefoxImageFormat(),
+                    config().getFirefoxPath(), new FirefoxDriverHandler(),
+                    FirefoxOptions.FIREFOX_OPTIONS,
+                    new ImmutableCapabilities(
+                            new DesiredCapabilities("firefox", "", ANY)),
+                    configSnapshot);
         case OPERA:
-            dockerImage = config().getOperaImageFormat();
-            path = config().getOperaPath();
-            driverHandler = new OperaDriverHandler();
-            optionsKey = OperaOptions.CAPABILITY;
-            capabilities = new DesiredCapabilities("operablink", "", ANY);
-            break;
+            return new BrowserDescriptor(config().getOperaImageFormat(),
+                    config().getOperaPath(), new OperaDriverHandler(),
+                    OperaOptions.CAPABILITY,
+                    new ImmutableCapabilities(
+                            new DesiredCapabilities("operablink", "", ANY)),
+                    configSnapshot);
         case CHROME:
         default:
-            dockerImage = config().getChromeImageFormat();
-            path = config().getChromePath();
-            driverHandler = new ChromeDriverHandler();
-            optionsKey = ChromeOptions.CAPABILITY;
-            capabilities = new DesiredCapabilities("chrome", "", ANY);
-            break;
+            return new BrowserDescriptor(config().getChromeImageFormat(),
+                    config().getChromePath(), new ChromeDriverHandler(),
+                    ChromeOptions.CAPABILITY,
+                    new ImmutableCapabilities(
+                            new DesiredCapabilities("chrome", "", ANY)),
+                    configSnapshot);
         }
     }
 
@@ -96,15 +126,15 @@ public enum BrowserType {
     }
 
     public String getPath() {
-        return path;
+        return getDescriptor().getPath();
     }
 
     public DriverHandler getDriverHandler() {
-        return driverHandler;
+        return getDescriptor().getDriverHandler();
     }
 
     public String getOptionsKey() {
-        return optionsKey;
+        return getDescriptor().getOptionsKey();
     }
 
     public String getDockerImage(String version) {
@@ -112,11 +142,11 @@ public enum BrowserType {
     }
 
     public String getDockerImage() {
-        return dockerImage;
+        return getDescriptor().getDockerImage();
     }
 
-    public DesiredCapabilities getCapabilities() {
-        return capabilities;
+    public Capabilities getCapabilities() {
+        return getDescriptor().getCapabilities();
     }
 
 }
@@ -0,0 +1,118 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static java.lang.Integer.compare;
+import static java.lang.Integer.parseInt;
+import static java.lang.Math.max;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Browser version (e.g. 65.0), parsed once as an array of integers. Versions
+ * with the same numbers but a different number of parts (e.g. 65 and 65.0)
+ * are different, being the shortest the lowest.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class BrowserVersion implements Comparable<BrowserVersion> {
+
+    static final Pattern VERSION_PATTERN = Pattern.compile("\\d+(\\.\\d+)*");
+
+    private final String version;
+    private final int[] parts;
+
+    public BrowserVersion(String version) {
+        if (!isValid(version)) {
+            throw new SeleniumJupiterException(
+                    "Version " + version + " is not numeric");
+        }
+        String[] split = version.split("\\.");
+        this.version = version;
+        this.parts = new int[split.length];
+        for (int i = 0; i < split.length; i++) {
+            parts[i] = parseInt(split[i]);
+        }
+    }
+
+    private BrowserVersion(int[] parts) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i != 0) {
+                stringBuilder.append('.');
+            }
+            stringBuilder.append(parts[i]);
+        }
+        this.version = stringBuilder.toString();
+        this.parts = parts;
+    }
+
+    public static boolean isValid(String version) {
+        return version != null && VERSION_PATTERN.matcher(version).matches();
+    }
+
+    public int getMajor() {
+        return parts[0];
+    }
+
+    public int size() {
+        return parts.length;
+    }
+
+    /**
+     * Lowest version which does not start with this one (e.g. 65 for 64, or
+     * 64.1 for 64.0). Versions starting with this one are in the range
+     * [this, nextPrefix).
+     */
+    public BrowserVersion nextPrefix() {
+        int[] next = Arrays.copyOf(parts, parts.length);
+        next[next.length - 1]++;
+        return new BrowserVersion(next);
+    }
+
+    @Override
+    public int compareTo(BrowserVersion other) {
+        int length = max(parts.length, other.parts.length);
+        for (int i = 0; i < length; i++) {
+            int part = i < parts.length ? parts[i] : 0;
+            int otherPart = i < other.parts.length ? other.parts[i] : 0;
+            if (part != otherPart) {
+                return compare(part, otherPart);
+            }
+        }
+        return compare(parts.length, other.parts.length);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BrowserVersion
+                && Arrays.equals(parts, ((BrowserVersion) other).parts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(parts);
+    }
+
+    @Override
+    public String toString() {
+        return version;
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import java.lang.reflect.Method;
+
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+/**
+ * Logic to wrap the command executor of WebDriver objects (e.g. to trace or
+ * watch their commands).
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class CommandExecutors {
+
+    private CommandExecutors() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Replace the command executor of the driver, which is not exposed by
+     * RemoteWebDriver.
+     */
+    public static void setCommandExecutor(RemoteWebDriver driver,
+            CommandExecutor commandExecutor)
+            throws ReflectiveOperationException {
+        Method setCommandExecutor = RemoteWebDriver.class.getDeclaredMethod(
+                "setCommandExecutor", CommandExecutor.class);
+        setCommandExecutor.setAccessible(true);
+        setCommandExecutor.invoke(driver, commandExecutor);
+    }
+
+}
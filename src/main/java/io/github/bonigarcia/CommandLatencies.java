@@ -0,0 +1,89 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.write;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms of WebDriver commands (get, findElement, clickElement,
+ * executeScript, etc.), by command name.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class CommandLatencies {
+
+    private final String name;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public CommandLatencies(String name) {
+        this.name = name;
+    }
+
+    public void record(String command, long nanos) {
+        LatencyHistogram histogram = histograms.get(command);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(command,
+                    key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEmpty() {
+        return histograms.isEmpty();
+    }
+
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(format("Command latencies (ms) of %s%n", name));
+        report.append(format("%-28s %8s %10s %10s %10s %10s %10s%n", "command",
+                "count", "total", "p50", "p95", "p99", "max"));
+        getHistograms().forEach((command, histogram) -> report.append(format(
+                "%-28s %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", command,
+                histogram.getCount(), toMillis(histogram.getTotalMicros()),
+                toMillis(histogram.getPercentileMicros(50)),
+                toMillis(histogram.getPercentileMicros(95)),
+                toMillis(histogram.getPercentileMicros(99)),
+                toMillis(histogram.getMaxMicros()))));
+        return report.toString();
+    }
+
+    public void writeReport(File file) throws IOException {
+        write(file.toPath(), getReport().getBytes(UTF_8));
+    }
+
+    static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.CommandExecutors.setCommandExecutor;
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static io.github.bonigarcia.SurefireReports.getOutputFolder;
+import static java.lang.String.format;
+import static java.lang.System.lineSeparator;
+import static java.lang.System.nanoTime;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.write;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.slf4j.Logger;
+
+/**
+ * Tracer of the latency of the commands sent by WebDriver objects. The command
+ * executor of each driver is wrapped, recording each command both in the
+ * latencies of the current test and in the latencies of the whole execution.
+ * The tracer is kept in the root store of the extension context, writing the
+ * report of the execution (including the slowest commands) when the test plan
+ * finishes.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class CommandTracer implements CloseableResource {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final Namespace NAMESPACE = Namespace.create(CommandTracer.class);
+    static final String REPORT_FILE = "command-latencies.txt";
+
+    private final CommandLatencies latencies = new CommandLatencies(
+            "all tests");
+    private final int top;
+    private final PriorityQueue<SlowCommand> slowestCommands;
+    private volatile long slowestThreshold = -1;
+
+    public CommandTracer(int top) {
+        this.top = top;
+        this.slowestCommands = new PriorityQueue<>(Math.max(1, top),
+                comparingLong(SlowCommand::getNanos));
+    }
+
+    /**
+     * Tracer stored in the root context, or null if command tracing is not
+     * enabled.
+     */
+    public static CommandTracer getInstance(ExtensionContext context) {
+        if (!config().isCommandTracing()) {
+            return null;
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                CommandTracer.class,
+                key -> new CommandTracer(config().getCommandTracingTop()),
+                CommandTracer.class);
+    }
+
+    /**
+     * Wrap the command executor of the driver (or list of drivers) given as
+     * argument, recording each command also in the latencies supplied (those
+     * of the test in execution).
+     */
+    public void trace(Object object,
+            Supplier<CommandLatencies> testLatencies) {
+        if (object instanceof List) {
+            ((List<?>) object).forEach(driver -> trace(driver, testLatencies));
+        } else if (object instanceof RemoteWebDriver) {
+            RemoteWebDriver driver = (RemoteWebDriver) object;
+            CommandExecutor commandExecutor = driver.getCommandExecutor();
+            if (commandExecutor instanceof TracingCommandExecutor) {
+                return;
+            }
+            try {
+                setCommandExecutor(driver, new TracingCommandExecutor(
+                        commandExecutor, testLatencies));
+            } catch (Exception e) {
+                log.warn("Commands of {} cannot be traced: {}",
+                        driver.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    void record(String command, long nanos, CommandLatencies testLatencies) {
+        latencies.record(command, nanos);
+        if (testLatencies != null) {
+            testLatencies.record(command, nanos);
+        }
+        if (top > 0 && nanos > slowestThreshold) {
+            synchronized (slowestCommands) {
+                slowestCommands.add(new SlowCommand(command,
+                        testLatencies != null ? testLatencies.getName() : "",
+                        nanos));
+                if (slowestCommands.size() > top) {
+                    slowestCommands.poll();
+                }
+                if (slowestCommands.size() == top) {
+                    slowestThreshold = slowestCommands.peek().nanos;
+                }
+            }
+        }
+    }
+
+    public CommandLatencies getLatencies() {
+        return latencies;
+    }
+
+    public List<SlowCommand> getSlowestCommands() {
+        List<SlowCommand> slowest;
+        synchronized (slowestCommands) {
+            slowest = new ArrayList<>(slowestCommands);
+        }
+        slowest.sort(comparingLong(SlowCommand::getNanos).reversed());
+        return slowest;
+    }
+
+    public String getReport() {
+        StringBuilder report = new StringBuilder(latencies.getReport());
+        report.append(lineSeparator());
+        report.append(format("Slowest commands (ms)%n"));
+        for (SlowCommand slowCommand : getSlowestCommands()) {
+            report.append(format("%10.1f  %-28s %s%n",
+                    NANOSECONDS.toMicros(slowCommand.nanos) / 1000.0,
+                    slowCommand.command, slowCommand.test));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void close() {
+        if (latencies.isEmpty()) {
+            return;
+        }
+        String report = getReport();
+        log.info("WebDriver command latencies{}{}", lineSeparator(), report);
+        try {
+            File reportFile = new File(getOutputFolder(), REPORT_FILE);
+            write(reportFile.toPath(), report.getBytes(UTF_8));
+        } catch (IOException e) {
+            log.warn("Exception writing command latencies report", e);
+        }
+    }
+
+    /**
+     * Command and the test in which it was executed.
+     */
+    public static class SlowCommand {
+        final String command;
+        final String test;
+        final long nanos;
+
+        SlowCommand(String command, String test, long nanos) {
+            this.command = command;
+            this.test = test;
+            this.nanos = nanos;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    class TracingCommandExecutor implements CommandExecutor {
+        final CommandExecutor commandExecutor;
+        final Supplier<CommandLatencies> testLatencies;
+
+        TracingCommandExecutor(CommandExecutor commandExecutor,
+                Supplier<CommandLatencies> testLatencies) {
+            this.commandExecutor = commandExecutor;
+            this.testLatencies = testLatencies;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            long start = nanoTime();
+            try {
+                return commandExecutor.execute(command);
+            } finally {
+                record(command.getName(), nanoTime() - start,
+                        testLatencies.get());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static java.nio.file.Files.write;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Bounded in-memory buffer of the logs of a container. When it is full, the
+ * oldest bytes are overwritten, and the first (incomplete) line is discarded
+ * when reading its content.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class ContainerLogBuffer {
+
+    private final byte[] buffer;
+    private long written;
+
+    public ContainerLogBuffer(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    public synchronized void append(ByteBuffer content) {
+        while (content.hasRemaining()) {
+            int position = (int) (written % buffer.length);
+            int length = Math.min(content.remaining(),
+                    buffer.length - position);
+            content.get(buffer, position, length);
+            written += length;
+        }
+    }
+
+    public synchronized byte[] getContent() {
+        return getContent(0);
+    }
+
+    /**
+     * Content written from the given position (e.g. the logs of a test, when
+     * the container is shared). If part of it has been overwritten, the
+     * content starts at the first complete line.
+     */
+    public synchronized byte[] getContent(long position) {
+        long start = Math.max(position, written - buffer.length);
+        byte[] content = new byte[(int) Math.max(0, written - start)];
+        int offset = (int) (start % buffer.length);
+        int length = Math.min(content.length, buffer.length - offset);
+        System.arraycopy(buffer, offset, content, 0, length);
+        System.arraycopy(buffer, 0, content, length, content.length - length);
+        if (start == position) {
+            return content;
+        }
+
+        int firstLine = 0;
+        while (firstLine < content.length && content[firstLine++] != '\n') {
+            // Skip the line partially overwritten
+        }
+        byte[] lines = new byte[content.length - firstLine];
+        System.arraycopy(content, firstLine, lines, 0, lines.length);
+        return lines;
+    }
+
+    /**
+     * Number of bytes written since the buffer was created.
+     */
+    public synchronized long getPosition() {
+        return written;
+    }
+
+    public synchronized long getOverwrittenBytes() {
+        return Math.max(0, written - buffer.length);
+    }
+
+    public void writeTo(File file) throws IOException {
+        write(file.toPath(), getContent());
+    }
+
+    public void writeTo(File file, long position) throws IOException {
+        write(file.toPath(), getContent(position));
+    }
+
+}
@@ -19,6 +19,7 @@ package io.github.bonigarcia;
 import static io.github.bonigarcia.BrowserType.CHROME;
 import static io.github.bonigarcia.BrowserType.FIREFOX;
 import static io.github.bonigarcia.BrowserType.OPERA;
+import static io.github.bonigarcia.DockerService.parseBytes;
 import static io.github.bonigarcia.SeleniumJupiter.config;
 import static java.lang.String.format;
 import static java.lang.invoke.MethodHandles.lookup;
@@ -96,16 +97,15 @@ public class DockerBrowserConfig {
             List<DockerHubTag> dockerHubTags) {
         List<String> browserList = null;
         String latestVersion = null;
-        browserType.init();
 
-        VersionComparator versionComparator = new VersionComparator();
         switch (browserType) {
         case FIREFOX:
             final String firefoxPreffix = "firefox_";
             browserList = dockerHubTags.stream()
                     .filter(p -> p.getName().startsWith(firefoxPreffix))
                     .map(p -> p.getName().replace(firefoxPreffix, ""))
-                    .sorted(versionComparator::compare).collect(toList());
+                    .map(BrowserVersion::new).sorted()
+                    .map(BrowserVersion::toString).collect(toList());
             latestVersion = browserList.get(browserList.size() - 1);
             break;
         case OPERA:
@@ -113,8 +113,8 @@ public class DockerBrowserConfig {
             browserList = dockerHubTags.stream()
                     .filter(p -> p.getName().startsWith(operaPreffix))
                     .map(p -> p.getName().replace(operaPreffix, ""))
-                    .sorted(versionComparator::compare).skip(1)
-                    .collect(toList());
+                    .map(BrowserVersion::new).sorted()
+                    .map(BrowserVersion::toString).skip(1).collect(toList());
             latestVersion = browserList.get(browserList.size() - 1);
             break;
         case CHROME:
@@ -123,7 +123,8 @@ public class DockerBrowserConfig {
             browserList = dockerHubTags.stream()
                     .filter(p -> p.getName().startsWith(chromePreffix))
                     .map(p -> p.getName().replace(chromePreffix, ""))
-                    .sorted(versionComparator::compare).collect(toList());
+                    .map(BrowserVersion::new).sorted()
+                    .map(BrowserVersion::toString).collect(toList());
             latestVersion = browserList.get(browserList.size() - 1);
             break;
         }
@@ -142,7 +143,6 @@ public class DockerBrowserConfig {
             BrowserType browserType) {
         String firstVersion = null;
         String latestVersion = null;
-        browserType.init();
         switch (browserType) {
         case FIREFOX:
             firstVersion = config().getFirefoxFirstVersion();
@@ -214,10 +214,20 @@ public class DockerBrowserConfig {
         String port = config().getSelenoidPort();
         String path;
         Tmpfs tmpfs = new Tmpfs();
+        String mem;
+        String cpu;
+        Long shmSize;
 
         public Browser(String image, String path) {
             this.image = image;
             this.path = path;
+
+            // Resource limits of the container (omitted when not configured)
+            String memory = config().getDockerBrowserMemory().trim();
+            String cpus = config().getDockerBrowserCpu().trim();
+            this.mem = memory.isEmpty() ? null : memory;
+            this.cpu = cpus.isEmpty() ? null : cpus;
+            this.shmSize = parseBytes(config().getDockerBrowserShmSize());
         }
 
         public String getImage() {
@@ -39,8 +39,13 @@ public class DockerContainer {
     private Optional<String> network;
     private Optional<List<String>> cmd;
     private Optional<List<String>> entryPoint;
+    private Optional<Long> memory;
+    private Optional<Long> nanoCpus;
+    private Optional<Long> shmSize;
+    private Optional<Integer> pidsLimit;
     private String containerId;
     private String containerUrl;
+    private DockerService dockerService;
 
     private DockerContainer(DockerBuilder builder) {
         this.imageId = builder.imageId;
@@ -53,6 +58,12 @@ public class DockerContainer {
         this.cmd = builder.cmd != null ? of(builder.cmd) : empty();
         this.entryPoint = builder.entryPoint != null ? of(builder.entryPoint)
                 : empty();
+        this.memory = builder.memory != null ? of(builder.memory) : empty();
+        this.nanoCpus = builder.nanoCpus != null ? of(builder.nanoCpus)
+                : empty();
+        this.shmSize = builder.shmSize != null ? of(builder.shmSize) : empty();
+        this.pidsLimit = builder.pidsLimit != null ? of(builder.pidsLimit)
+                : empty();
     }
 
     public static DockerBuilder dockerBuilder(String imageId) {
@@ -87,6 +98,22 @@ public class DockerContainer {
         return entryPoint;
     }
 
+    public Optional<Long> getMemory() {
+        return memory;
+    }
+
+    public Optional<Long> getNanoCpus() {
+        return nanoCpus;
+    }
+
+    public Optional<Long> getShmSize() {
+        return shmSize;
+    }
+
+    public Optional<Integer> getPidsLimit() {
+        return pidsLimit;
+    }
+
     public String getContainerId() {
         return containerId;
     }
@@ -103,6 +130,17 @@ public class DockerContainer {
         this.containerUrl = containerUrl;
     }
 
+    /**
+     * Docker service (i.e. Docker daemon) in which the container is running.
+     */
+    public DockerService getDockerService() {
+        return dockerService;
+    }
+
+    public void setDockerService(DockerService dockerService) {
+        this.dockerService = dockerService;
+    }
+
     public static class DockerBuilder {
         private String imageId;
         private Map<String, List<PortBinding>> portBindings;
@@ -111,6 +149,10 @@ public class DockerContainer {
         private List<String> cmd;
         private String network;
         private List<String> entryPoint;
+        private Long memory;
+        private Long nanoCpus;
+        private Long shmSize;
+        private Integer pidsLimit;
 
         public DockerBuilder(String imageId) {
             this.imageId = imageId;
@@ -147,6 +189,38 @@ public class DockerContainer {
             return this;
         }
 
+        /**
+         * Memory limit in bytes (null for no limit).
+         */
+        public DockerBuilder memory(Long memory) {
+            this.memory = memory;
+            return this;
+        }
+
+        /**
+         * CPU limit in units of 10^-9 CPUs (null for no limit).
+         */
+        public DockerBuilder nanoCpus(Long nanoCpus) {
+            this.nanoCpus = nanoCpus;
+            return this;
+        }
+
+        /**
+         * Size of /dev/shm in bytes (null for the Docker default).
+         */
+        public DockerBuilder shmSize(Long shmSize) {
+            this.shmSize = shmSize;
+            return this;
+        }
+
+        /**
+         * Maximum number of processes (null for no limit).
+         */
+        public DockerBuilder pidsLimit(Integer pidsLimit) {
+            this.pidsLimit = pidsLimit;
+            return this;
+        }
+
         public DockerContainer build() {
             return new DockerContainer(this);
         }
@@ -0,0 +1,180 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+
+import com.spotify.docker.client.exceptions.DockerCertificateException;
+
+/**
+ * Scheduler of Docker containers among several Docker daemons, declared as a
+ * comma-separated list in the configuration key sel.jup.docker.server.url.
+ * The containers of each test (Selenoid, which starts the browsers in its own
+ * daemon, and noVNC) are placed in the least loaded daemon, i.e. the one with
+ * less running containers (as reported by the daemon itself) plus tests placed
+ * in it and not cleaned yet. Counting placements prevents tests started at the
+ * same time (before their containers are running) from being placed in the
+ * same daemon. The scheduler is kept in the root store of
+ * the extension context, so the Docker clients are closed when the test plan
+ * finishes.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class DockerScheduler implements CloseableResource {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final Namespace NAMESPACE = Namespace.create(DockerScheduler.class);
+    static final String SEPARATOR = ",";
+
+    private static Map<String, DockerScheduler> schedulersWithoutContext = new ConcurrentHashMap<>();
+
+    private final List<DockerService> dockerServices;
+    private final Map<DockerService, AtomicInteger> placements = new ConcurrentHashMap<>();
+
+    public DockerScheduler(List<String> dockerServerUrls)
+            throws DockerCertificateException {
+        List<DockerService> services = new ArrayList<>();
+        for (String dockerServerUrl : dockerServerUrls) {
+            DockerService dockerService = new DockerService(dockerServerUrl);
+            services.add(dockerService);
+            placements.put(dockerService, new AtomicInteger());
+        }
+        this.dockerServices = Collections.unmodifiableList(services);
+    }
+
+    /**
+     * Scheduler stored in the root context (or shared by the JVM when there
+     * is no context, e.g. in the command line interface), or null if a single
+     * Docker server is used.
+     */
+    public static DockerScheduler getInstance(ExtensionContext context) {
+        String dockerServerUrl = config().getDockerServerUrl();
+        if (!dockerServerUrl.contains(SEPARATOR)) {
+            return null;
+        }
+        if (context == null) {
+            return schedulersWithoutContext.computeIfAbsent(dockerServerUrl,
+                    DockerScheduler::create);
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                dockerServerUrl, DockerScheduler::create,
+                DockerScheduler.class);
+    }
+
+    private static DockerScheduler create(String dockerServerUrl) {
+        try {
+            return new DockerScheduler(parseUrls(dockerServerUrl));
+        } catch (DockerCertificateException e) {
+            throw new SeleniumJupiterException(e);
+        }
+    }
+
+    public static List<String> parseUrls(String dockerServerUrl) {
+        List<String> urls = new ArrayList<>();
+        for (String url : dockerServerUrl.split(SEPARATOR)) {
+            if (!url.trim().isEmpty()) {
+                urls.add(url.trim());
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Docker service of the least loaded daemon, in which a test is placed
+     * until it is released. Daemons which cannot be queried are used only if
+     * none of them can.
+     */
+    public synchronized DockerService getDockerService() {
+        DockerService dockerService = dockerServices.get(0);
+        int minLoad = Integer.MAX_VALUE;
+        for (DockerService candidate : dockerServices) {
+            int load = getRunningContainers(candidate);
+            if (load != Integer.MAX_VALUE) {
+                load += placements.get(candidate).get();
+            }
+            if (load < minLoad) {
+                dockerService = candidate;
+                minLoad = load;
+            }
+        }
+        int placed = placements.get(dockerService).incrementAndGet();
+        log.debug("Placing containers in Docker server {} (load {}, {} placed)",
+                dockerService.getDockerServerUrl(), minLoad, placed);
+        return dockerService;
+    }
+
+    /**
+     * Release a test placed in a Docker service (when its containers are
+     * stopped).
+     */
+    public void release(DockerService dockerService) {
+        AtomicInteger placed = placements.get(dockerService);
+        if (placed != null) {
+            placed.updateAndGet(count -> count > 0 ? count - 1 : 0);
+        }
+    }
+
+    public int getPlacements(DockerService dockerService) {
+        AtomicInteger placed = placements.get(dockerService);
+        return placed != null ? placed.get() : 0;
+    }
+
+    private int getRunningContainers(DockerService dockerService) {
+        try {
+            return dockerService.getDaemonRunningContainers();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Exception querying containers of Docker server {}: {}",
+                    dockerService.getDockerServerUrl(), e.getMessage());
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    public List<DockerService> getDockerServices() {
+        return dockerServices;
+    }
+
+    @Override
+    public void close() {
+        for (DockerService dockerService : dockerServices) {
+            try {
+                dockerService.close();
+            } catch (Exception e) {
+                log.warn("Exception closing Docker client of {}",
+                        dockerService.getDockerServerUrl(), e);
+            }
+        }
+    }
+
+}
@@ -17,14 +17,27 @@
 package io.github.bonigarcia;
 
 import static org.apache.commons.lang.SystemUtils.IS_OS_LINUX;
+import static com.spotify.docker.client.DockerClient.LogsParam.follow;
+import static com.spotify.docker.client.DockerClient.LogsParam.stderr;
+import static com.spotify.docker.client.DockerClient.LogsParam.stdout;
 import static io.github.bonigarcia.SeleniumJupiter.config;
+import static io.github.bonigarcia.StartupPhase.CONTAINER_START;
+import static io.github.bonigarcia.StartupPhase.CONTAINER_STOP;
+import static io.github.bonigarcia.StartupPhase.IMAGE_CHECK;
+import static java.lang.System.nanoTime;
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
 
@@ -32,6 +45,7 @@ import com.google.common.collect.ImmutableMap;
 import com.spotify.docker.client.DefaultDockerClient;
 import com.spotify.docker.client.DefaultDockerClient.Builder;
 import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.LogStream;
 import com.spotify.docker.client.ProgressHandler;
 import com.spotify.docker.client.exceptions.DockerCertificateException;
 import com.spotify.docker.client.exceptions.DockerException;
@@ -54,32 +68,51 @@ public class DockerService {
     private int dockerWaitTimeoutSec;
     private int dockerPollTimeMs;
     private DockerClient dockerClient;
-    private List<String> pulledImages = new ArrayList<>();
+    private Set<String> pulledImages = ConcurrentHashMap.newKeySet();
+    private Map<String, Object> pullLocks = new ConcurrentHashMap<>();
+    private String dockerServerUrl;
+    private Set<String> runningContainers = ConcurrentHashMap.newKeySet();
+    private Set<String> killedContainers = ConcurrentHashMap.newKeySet();
+    private Map<String, ContainerLogBuffer> containerLogs = new ConcurrentHashMap<>();
+    private ExecutorService logCollector;
+    private volatile CommandLatencies phaseLatencies;
 
     public DockerService() throws DockerCertificateException {
+        // When several Docker servers are configured, the first is used
+        this(config().getDockerServerUrl().split(",")[0].trim());
+    }
+
+    public DockerService(String dockerServerUrl)
+            throws DockerCertificateException {
+        this.dockerServerUrl = dockerServerUrl;
         dockerDefaultSocket = config().getDockerDefaultSocket();
         dockerWaitTimeoutSec = config().getDockerWaitTimeoutSec();
         dockerPollTimeMs = config().getDockerPollTimeMs();
 
         Builder dockerClientBuilder = DefaultDockerClient.fromEnv();
-
-        String dockerServerUrl = config().getDockerServerUrl();
         if (!dockerServerUrl.isEmpty()) {
-            DefaultDockerClient.builder().uri(dockerServerUrl);
+            dockerClientBuilder.uri(dockerServerUrl);
         }
         dockerClient = dockerClientBuilder.build();
     }
 
     public String getHost(String containerId, String network)
             throws DockerException, InterruptedException {
-        return IS_OS_LINUX
+        // The gateway of the network is only reachable for local daemons
+        return IS_OS_LINUX && isLocal()
                 ? dockerClient.inspectContainer(containerId).networkSettings()
                         .networks().get(network).gateway()
                 : dockerClient.getHost();
     }
 
+    private boolean isLocal() {
+        String host = dockerClient.getHost();
+        return host.equals("localhost") || host.equals("127.0.0.1");
+    }
+
     public String startContainer(DockerContainer dockerContainer)
             throws DockerException, InterruptedException {
+        long start = nanoTime();
         String imageId = dockerContainer.getImageId();
         log.info("Starting Docker container {}", imageId);
         com.spotify.docker.client.messages.HostConfig.Builder hostConfigBuilder = HostConfig
@@ -119,15 +152,109 @@ public class DockerService {
             log.trace("Using entryPoint: {}", entryPoint.get());
             containerConfigBuilder.entrypoint(entryPoint.get());
         }
+        Optional<Long> memory = dockerContainer.getMemory();
+        if (memory.isPresent()) {
+            log.trace("Using memory limit: {}", memory.get());
+            hostConfigBuilder.memory(memory.get());
+        }
+        Optional<Long> nanoCpus = dockerContainer.getNanoCpus();
+        if (nanoCpus.isPresent()) {
+            log.trace("Using CPU limit (nano CPUs): {}", nanoCpus.get());
+            hostConfigBuilder.nanoCpus(nanoCpus.get());
+        }
+        Optional<Long> shmSize = dockerContainer.getShmSize();
+        if (shmSize.isPresent()) {
+            log.trace("Using shm size: {}", shmSize.get());
+            hostConfigBuilder.shmSize(shmSize.get());
+        }
+        Optional<Integer> pidsLimit = dockerContainer.getPidsLimit();
+        if (pidsLimit.isPresent()) {
+            log.trace("Using pids limit: {}", pidsLimit.get());
+            hostConfigBuilder.pidsLimit(pidsLimit.get());
+        }
 
         ContainerConfig createContainer = containerConfigBuilder.image(imageId)
                 .hostConfig(hostConfigBuilder.build()).build();
         String containerId = dockerClient.createContainer(createContainer).id();
         dockerClient.startContainer(containerId);
+        runningContainers.add(containerId);
+        if (config().isDockerLogsOnFailure()) {
+            collectLogs(containerId);
+        }
+        dockerContainer.setDockerService(this);
+        recordPhase(CONTAINER_START, start);
 
         return containerId;
     }
 
+    /**
+     * Stream the logs of the container in background to a bounded buffer in
+     * memory, which is written to disk only if required (see writeLogs).
+     */
+    public void collectLogs(String containerId) {
+        Long bufferSize = parseBytes(config().getDockerLogsBufferSize());
+        if (bufferSize == null || bufferSize <= 0) {
+            return;
+        }
+        ContainerLogBuffer logBuffer = new ContainerLogBuffer(
+                (int) Math.min(bufferSize, Integer.MAX_VALUE));
+        containerLogs.put(containerId, logBuffer);
+        getLogCollector().submit(() -> {
+            try (LogStream logStream = dockerClient.logs(containerId,
+                    follow(), stdout(), stderr())) {
+                while (logStream.hasNext()) {
+                    logBuffer.append(logStream.next().content());
+                }
+            } catch (Exception e) {
+                log.trace("Log collection of container {} finished: {}",
+                        containerId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Position of the logs collected for the container, i.e. the number of
+     * bytes collected so far (0 if they are not collected).
+     */
+    public long getLogsPosition(String containerId) {
+        ContainerLogBuffer logBuffer = containerLogs.get(containerId);
+        return logBuffer != null ? logBuffer.getPosition() : 0;
+    }
+
+    /**
+     * Write the logs collected for the container from the given position (see
+     * getLogsPosition) to the file, returning true if they were written. The
+     * logs are kept until the container is stopped, since it can be shared
+     * by several browsers and tests.
+     */
+    public boolean writeLogs(String containerId, File file, long position) {
+        ContainerLogBuffer logBuffer = containerLogs.get(containerId);
+        if (logBuffer == null || logBuffer.getPosition() <= position) {
+            return false;
+        }
+        log.debug("Writing logs of container {} to {} ({} bytes overwritten)",
+                containerId, file, logBuffer.getOverwrittenBytes());
+        try {
+            logBuffer.writeTo(file, position);
+            return true;
+        } catch (IOException e) {
+            log.warn("Exception writing logs of container {}", containerId, e);
+            return false;
+        }
+    }
+
+    private synchronized ExecutorService getLogCollector() {
+        if (logCollector == null) {
+            logCollector = newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable,
+                        "selenium-jupiter-docker-logs");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return logCollector;
+    }
+
     public String getBindPort(String containerId, String exposed)
             throws DockerException, InterruptedException {
         ImmutableMap<String, List<PortBinding>> ports = dockerClient
@@ -146,25 +273,37 @@ public class DockerService {
 
     public void pullImage(String imageId)
             throws DockerException, InterruptedException {
-        if (!pulledImages.contains(imageId)) {
-            log.info("Pulling Docker image {} ... please wait", imageId);
-            dockerClient.pull(imageId, new ProgressHandler() {
-                @Override
-                public void progress(ProgressMessage message)
-                        throws DockerException {
-                    log.trace("Pulling Docker image {} ... {}", imageId,
-                            message);
-                }
-            });
-            pulledImages.add(imageId);
-            log.trace("Docker image {} downloaded", imageId);
-        }
+        long start = nanoTime();
+        doPullImage(imageId);
+        recordPhase(IMAGE_CHECK, start);
     }
 
     public void pullImageIfNecessary(String imageId)
             throws DockerException, InterruptedException {
+        long start = nanoTime();
         if (!existsImage(imageId)) {
-            pullImage(imageId);
+            doPullImage(imageId);
+        }
+        recordPhase(IMAGE_CHECK, start);
+    }
+
+    private void doPullImage(String imageId)
+            throws DockerException, InterruptedException {
+        // Concurrent pulls of the same image wait for the first one
+        synchronized (pullLocks.computeIfAbsent(imageId, k -> new Object())) {
+            if (!pulledImages.contains(imageId)) {
+                log.info("Pulling Docker image {} ... please wait", imageId);
+                dockerClient.pull(imageId, new ProgressHandler() {
+                    @Override
+                    public void progress(ProgressMessage message)
+                            throws DockerException {
+                        log.trace("Pulling Docker image {} ... {}", imageId,
+                                message);
+                    }
+                });
+                pulledImages.add(imageId);
+                log.trace("Docker image {} downloaded", imageId);
+            }
         }
     }
 
@@ -182,12 +321,40 @@ public class DockerService {
     }
 
     public void stopAndRemoveContainer(String containerId, String imageId) {
+        // Logs not written at this point are not required
+        containerLogs.remove(containerId);
+        if (killedContainers.remove(containerId)) {
+            log.trace("Docker container {} already killed", imageId);
+            return;
+        }
         log.info("Stopping Docker container {}", imageId);
         try {
+            long start = nanoTime();
             stopContainer(containerId);
             removeContainer(containerId);
+            recordPhase(CONTAINER_STOP, start);
         } catch (Exception e) {
             log.warn("Exception stopping container {}", imageId, e);
+        } finally {
+            runningContainers.remove(containerId);
+        }
+    }
+
+    /**
+     * Kill and remove a container at once, without waiting for its process to
+     * finish gracefully (used when the browser is not responding).
+     */
+    public void killContainer(String containerId, String imageId) {
+        if (!runningContainers.remove(containerId)) {
+            return;
+        }
+        killedContainers.add(containerId);
+        log.info("Killing Docker container {}", imageId);
+        try {
+            dockerClient.killContainer(containerId);
+            removeContainer(containerId);
+        } catch (Exception e) {
+            log.warn("Exception killing container {}", imageId, e);
         }
     }
 
@@ -209,6 +376,54 @@ public class DockerService {
         return dockerDefaultSocket;
     }
 
+    /**
+     * Path of the Docker socket in the host of the daemon, which is the
+     * socket of the server URL for Unix sockets (e.g. rootless daemons) or
+     * the default socket otherwise.
+     */
+    public String getDockerHostSocket() {
+        if (dockerServerUrl.startsWith("unix:")) {
+            return URI.create(dockerServerUrl).getPath();
+        }
+        return dockerDefaultSocket;
+    }
+
+    public String getDockerServerUrl() {
+        return dockerServerUrl;
+    }
+
+    public int getRunningContainers() {
+        return runningContainers.size();
+    }
+
+    /**
+     * Containers running in the Docker daemon, including the ones not started
+     * by this service (e.g. browsers started by Selenoid) or by other clients.
+     */
+    public int getDaemonRunningContainers()
+            throws DockerException, InterruptedException {
+        return dockerClient.listContainers().size();
+    }
+
+    /**
+     * Latencies of the provisioning phases (image check, container start and
+     * stop) are recorded in the given object (null to disable it).
+     */
+    public void setPhaseLatencies(CommandLatencies phaseLatencies) {
+        this.phaseLatencies = phaseLatencies;
+    }
+
+    public CommandLatencies getPhaseLatencies() {
+        return phaseLatencies;
+    }
+
+    private void recordPhase(StartupPhase phase, long start) {
+        CommandLatencies latencies = phaseLatencies;
+        if (latencies != null) {
+            latencies.record(phase.toString(), nanoTime() - start);
+        }
+    }
+
     public int getDockerWaitTimeoutSec() {
         return dockerWaitTimeoutSec;
     }
@@ -217,7 +432,51 @@ public class DockerService {
         return dockerPollTimeMs;
     }
 
+    /**
+     * Bytes of a size such as 512m or 1g (units b, k, m, and g, as in the
+     * Docker CLI), or null if the size is empty.
+     */
+    public static Long parseBytes(String size) {
+        String value = size.trim().toLowerCase();
+        if (value.isEmpty()) {
+            return null;
+        }
+        long multiplier = 1;
+        int unit = "bkmg".indexOf(value.charAt(value.length() - 1));
+        if (unit >= 0) {
+            multiplier = 1L << (10 * unit);
+            value = value.substring(0, value.length() - 1).trim();
+        }
+        try {
+            return (long) (Double.parseDouble(value) * multiplier);
+        } catch (NumberFormatException e) {
+            throw new SeleniumJupiterException(
+                    "Size " + size + " is not valid");
+        }
+    }
+
+    /**
+     * Nano CPUs of a number of cores such as 0.5, or null if it is empty.
+     */
+    public static Long parseNanoCpus(String cpus) {
+        String value = cpus.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Math.round(Double.parseDouble(value) * 1e9);
+        } catch (NumberFormatException e) {
+            throw new SeleniumJupiterException(
+                    "CPU limit " + cpus + " is not valid");
+        }
+    }
+
     public void close() {
+        synchronized (this) {
+            if (logCollector != null) {
+                logCollector.shutdownNow();
+            }
+        }
         dockerClient.close();
     }
 
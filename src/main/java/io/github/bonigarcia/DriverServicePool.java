@@ -0,0 +1,205 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.Thread.currentThread;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Driver services (chromedriver, geckodriver) shared by the tests of the JVM
+ * (scope jvm) or by the tests executed in the same thread (scope thread). The
+ * pool is kept in the root store of the extension context, so the services
+ * are stopped when the test plan finishes.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class DriverServicePool implements CloseableResource {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final Namespace NAMESPACE = Namespace
+            .create(DriverServicePool.class);
+
+    private final String scope;
+    private final Map<String, DriverService> services = new ConcurrentHashMap<>();
+
+    public DriverServicePool(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Pool stored in the root context, or null if driver services are not
+     * shared (scope test).
+     */
+    public static DriverServicePool getInstance(ExtensionContext context) {
+        String scope = config().getDriverServiceScope();
+        if (!isShared(scope)) {
+            return null;
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                DriverServicePool.class, key -> new DriverServicePool(scope),
+                DriverServicePool.class);
+    }
+
+    public static boolean isShared(String scope) {
+        return scope.equalsIgnoreCase("jvm")
+                || scope.equalsIgnoreCase("thread");
+    }
+
+    public ChromeDriverService getChromeDriverService() {
+        return (ChromeDriverService) getService("chromedriver",
+                () -> new SharedChromeDriverService.Builder().usingAnyFreePort()
+                        .build());
+    }
+
+    public GeckoDriverService getGeckoDriverService() {
+        return (GeckoDriverService) getService("geckodriver",
+                () -> new SharedGeckoDriverService.Builder().usingAnyFreePort()
+                        .build());
+    }
+
+    private DriverService getService(String name,
+            Supplier<DriverService> serviceBuilder) {
+        String key = scope.equalsIgnoreCase("thread")
+                ? name + "@" + currentThread().getId()
+                : name;
+        return services.computeIfAbsent(key, k -> {
+            log.debug("Starting shared {} service (scope {})", name, scope);
+            DriverService service = serviceBuilder.get();
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new SeleniumJupiterException(e);
+            }
+            return service;
+        });
+    }
+
+    public int size() {
+        return services.size();
+    }
+
+    @Override
+    public void close() {
+        services.forEach((key, service) -> {
+            log.debug("Stopping shared service {}", key);
+            try {
+                ((SharedDriverService) service).shutdown();
+            } catch (Exception e) {
+                log.warn("Exception stopping service {}", key, e);
+            }
+        });
+        services.clear();
+    }
+
+    /**
+     * Driver service which is not stopped when a driver quits (drivers call
+     * stop() on quit), but when the pool is closed.
+     */
+    interface SharedDriverService {
+        void shutdown();
+    }
+
+    static class SharedChromeDriverService extends ChromeDriverService
+            implements SharedDriverService {
+
+        SharedChromeDriverService(File executable, int port,
+                ImmutableList<String> args,
+                ImmutableMap<String, String> environment) throws IOException {
+            super(executable, port, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            // Stopped on shutdown
+        }
+
+        @Override
+        public void shutdown() {
+            super.stop();
+        }
+
+        static class Builder extends ChromeDriverService.Builder {
+            @Override
+            protected ChromeDriverService createDriverService(File exe,
+                    int port, ImmutableList<String> args,
+                    ImmutableMap<String, String> environment) {
+                try {
+                    return new SharedChromeDriverService(exe, port, args,
+                            environment);
+                } catch (IOException e) {
+                    throw new SeleniumJupiterException(e);
+                }
+            }
+        }
+    }
+
+    static class SharedGeckoDriverService extends GeckoDriverService
+            implements SharedDriverService {
+
+        SharedGeckoDriverService(File executable, int port,
+                ImmutableList<String> args,
+                ImmutableMap<String, String> environment) throws IOException {
+            super(executable, port, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            // Stopped on shutdown
+        }
+
+        @Override
+        public void shutdown() {
+            super.stop();
+        }
+
+        static class Builder extends GeckoDriverService.Builder {
+            @Override
+            protected GeckoDriverService createDriverService(File exe,
+                    int port, ImmutableList<String> args,
+                    ImmutableMap<String, String> environment) {
+                try {
+                    return new SharedGeckoDriverService(exe, port, args,
+                            environment);
+                } catch (IOException e) {
+                    throw new SeleniumJupiterException(e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.ContentHash.sha256;
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.write;
+import static java.nio.file.Paths.get;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Cache of browser extensions read from the classpath. Each extension is
+ * extracted once per JVM to a folder named as the hash of its content, which
+ * is kept between executions.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class ExtensionCache {
+
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    static final String DEFAULT_CACHE_FOLDER = "selenium-jupiter-extensions";
+
+    private static Map<String, File> extensions = new ConcurrentHashMap<>();
+
+    private ExtensionCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Extension file from the file system or, if it does not exist, extracted
+     * from the classpath (the file given as argument is returned when the
+     * extension is not found).
+     */
+    public static File getExtension(String fileName) {
+        File file = new File(fileName);
+        if (file.exists()) {
+            return file;
+        }
+        File extension = extensions.compute(fileName,
+                (key, cachedExtension) -> cachedExtension != null
+                        && cachedExtension.exists() ? cachedExtension
+                                : extract(key));
+        return extension != null ? extension : file;
+    }
+
+    public static Path getCacheFolder() {
+        String cacheFolder = config().getExtensionsCacheFolder();
+        return cacheFolder.isEmpty()
+                ? get(System.getProperty("java.io.tmpdir"),
+                        DEFAULT_CACHE_FOLDER)
+                : get(cacheFolder);
+    }
+
+    private static File extract(String fileName) {
+        try (InputStream inputStream = ExtensionCache.class
+                .getResourceAsStream("/" + fileName)) {
+            if (inputStream == null) {
+                return null;
+            }
+            byte[] content = toByteArray(inputStream);
+            Path folder = getCacheFolder().resolve(sha256(content));
+            Path extension = folder.resolve(new File(fileName).getName());
+            if (exists(extension)) {
+                log.trace("Extension {} found in cache ({})", fileName,
+                        extension);
+            } else {
+                // Written to a temporal file and moved, since other JVMs
+                // can be extracting the same extension at the same time
+                createDirectories(folder);
+                Path tmpFile = createTempFile(folder, "tmp-", ".part");
+                write(tmpFile, content);
+                try {
+                    move(tmpFile, extension, ATOMIC_MOVE);
+                } catch (IOException e) {
+                    deleteIfExists(tmpFile);
+                    if (!exists(extension)) {
+                        throw e;
+                    }
+                }
+                log.debug("Extension {} extracted to {}", fileName,
+                        extension);
+            }
+            return extension.toFile();
+
+        } catch (IOException e) {
+            log.warn("There was a problem handling extension", e);
+            return null;
+        }
+    }
+
+}
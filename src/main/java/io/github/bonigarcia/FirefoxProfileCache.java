@@ -0,0 +1,194 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openqa.selenium.firefox.FirefoxProfile;
+import org.openqa.selenium.firefox.internal.Extension;
+import org.slf4j.Logger;
+
+/**
+ * Firefox profiles with the same extensions and preferences share their
+ * serialized form (zipped and encoded as Base64), which is calculated the first
+ * time one of them is sent to a driver. Each test gets its own profile, and a
+ * profile which is changed (e.g. with other preferences) is serialized on its
+ * own.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class FirefoxProfileCache {
+
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static Map<List<Object>, AtomicReference<String>> payloads = new ConcurrentHashMap<>();
+
+    private FirefoxProfileCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Profile with the given extensions and preferences (whose values are
+     * booleans, integers, or strings).
+     */
+    public static FirefoxProfile getProfile(List<File> extensions,
+            Map<String, Object> preferences) {
+        // Files are identified by path, size, and modification date, so
+        // changes in extensions from the file system are not ignored
+        List<Object> key = new ArrayList<>(extensions.stream()
+                .map(file -> file.getAbsolutePath() + ":" + file.length() + ":"
+                        + file.lastModified())
+                .collect(toList()));
+        Map<String, Object> sortedPreferences = new TreeMap<>(preferences);
+        key.add(sortedPreferences);
+        return new CachedFirefoxProfile(extensions, sortedPreferences,
+                payloads.computeIfAbsent(key, k -> new AtomicReference<>()));
+    }
+
+    /**
+     * Firefox profile which reuses the serialized form shared by the profiles
+     * with the same extensions and preferences, as long as it is not changed.
+     * Setting one of these preferences again (e.g. FirefoxOptions copies its
+     * preferences into the profile before serializing it) is not a change.
+     */
+    static class CachedFirefoxProfile extends FirefoxProfile {
+
+        private final Map<String, Object> preferences;
+        private final AtomicReference<String> payload;
+        private volatile boolean changed;
+
+        CachedFirefoxProfile(List<File> extensions,
+                Map<String, Object> preferences,
+                AtomicReference<String> payload) {
+            this.preferences = preferences;
+            this.payload = payload;
+            extensions.forEach(super::addExtension);
+            preferences.forEach((key, value) -> {
+                if (value instanceof Boolean) {
+                    super.setPreference(key, (Boolean) value);
+                } else if (value instanceof Integer) {
+                    super.setPreference(key, (Integer) value);
+                } else {
+                    super.setPreference(key, String.valueOf(value));
+                }
+            });
+            changed = false;
+        }
+
+        @Override
+        public String toJson() throws IOException {
+            if (changed) {
+                return super.toJson();
+            }
+            synchronized (payload) {
+                if (payload.get() == null) {
+                    long start = currentTimeMillis();
+                    payload.set(super.toJson());
+                    log.debug(
+                            "Firefox profile serialized in {} ms ({} bytes)",
+                            currentTimeMillis() - start,
+                            payload.get().length());
+                }
+                return payload.get();
+            }
+        }
+
+        @Override
+        public void addExtension(Class<?> loadResourcesUsing,
+                String loadFrom) {
+            changed = true;
+            super.addExtension(loadResourcesUsing, loadFrom);
+        }
+
+        @Override
+        public void addExtension(File extensionToInstall) {
+            changed = true;
+            super.addExtension(extensionToInstall);
+        }
+
+        @Override
+        public void addExtension(String key, Extension extension) {
+            changed = true;
+            super.addExtension(key, extension);
+        }
+
+        @Override
+        public void setPreference(String key, String value) {
+            if (isSet(key, value)) {
+                return;
+            }
+            changed = true;
+            super.setPreference(key, value);
+        }
+
+        @Override
+        public void setPreference(String key, boolean value) {
+            if (isSet(key, value)) {
+                return;
+            }
+            changed = true;
+            super.setPreference(key, value);
+        }
+
+        @Override
+        public void setPreference(String key, int value) {
+            if (isSet(key, value)) {
+                return;
+            }
+            changed = true;
+            super.setPreference(key, value);
+        }
+
+        @Override
+        public void setAlwaysLoadNoFocusLib(boolean loadNoFocusLib) {
+            changed = true;
+            super.setAlwaysLoadNoFocusLib(loadNoFocusLib);
+        }
+
+        @Override
+        public void setAcceptUntrustedCertificates(boolean acceptUntrustedSsl) {
+            changed = true;
+            super.setAcceptUntrustedCertificates(acceptUntrustedSsl);
+        }
+
+        @Override
+        public void setAssumeUntrustedCertificateIssuer(
+                boolean untrustedIssuer) {
+            changed = true;
+            super.setAssumeUntrustedCertificateIssuer(untrustedIssuer);
+        }
+
+        private boolean isSet(String key, Object value) {
+            return !changed && Objects.equals(preferences.get(key), value);
+        }
+    }
+
+}
@@ -0,0 +1,372 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.slf4j.Logger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Client-side balancer of sessions among several Selenium Servers (hubs or
+ * Selenoid), declared as a comma-separated list in the configuration key
+ * sel.jup.selenium.server.url. Each session is created in the hub with less
+ * outstanding sessions (least-sessions) or in the best of two random hubs
+ * (power-of-two). The status of the hubs is probed periodically (capacity is
+ * read from Selenoid status), and hubs which fail are ejected for a while.
+ * The balancer is kept in the root store of the extension context, reporting
+ * per-hub statistics when the test plan finishes.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class HubBalancer implements CloseableResource {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final Namespace NAMESPACE = Namespace.create(HubBalancer.class);
+    static final String SEPARATOR = ",";
+    static final int STATUS_TIMEOUT_MS = 5000;
+
+    private static Map<String, HubBalancer> balancersWithoutContext = new ConcurrentHashMap<>();
+
+    private final List<Hub> hubs;
+    private final String selection;
+    private final Map<SessionId, Hub> sessions = new ConcurrentHashMap<>();
+    private final Random random = new Random();
+
+    public HubBalancer(List<URL> urls, String selection) {
+        List<Hub> hubList = new ArrayList<>();
+        urls.forEach(url -> hubList.add(new Hub(url)));
+        this.hubs = Collections.unmodifiableList(hubList);
+        this.selection = selection;
+    }
+
+    /**
+     * Balancer stored in the root context (or shared by the JVM when there is
+     * no context, e.g. in the command line interface), or null if a single
+     * Selenium Server (or none) is configured.
+     */
+    public static HubBalancer getInstance(ExtensionContext context) {
+        String seleniumServerUrl = config().getSeleniumServerUrl();
+        if (!isBalanced(seleniumServerUrl)) {
+            return null;
+        }
+        String selection = config().getSeleniumServerSelection();
+        String key = seleniumServerUrl + "@" + selection;
+        if (context == null) {
+            return balancersWithoutContext.computeIfAbsent(key,
+                    k -> new HubBalancer(parseUrls(seleniumServerUrl),
+                            selection));
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                key, k -> new HubBalancer(parseUrls(seleniumServerUrl),
+                        selection),
+                HubBalancer.class);
+    }
+
+    public static boolean isBalanced(String seleniumServerUrl) {
+        return seleniumServerUrl != null
+                && seleniumServerUrl.contains(SEPARATOR);
+    }
+
+    public static List<URL> parseUrls(String seleniumServerUrl) {
+        List<URL> urls = new ArrayList<>();
+        for (String url : seleniumServerUrl.split(SEPARATOR)) {
+            if (!url.trim().isEmpty()) {
+                try {
+                    urls.add(new URL(url.trim()));
+                } catch (MalformedURLException e) {
+                    throw new SeleniumJupiterException(e);
+                }
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Create a session in one of the hubs, trying with the rest of hubs if the
+     * creation fails.
+     */
+    public RemoteWebDriver newSession(Capabilities capabilities) {
+        List<Hub> excludedHubs = new ArrayList<>();
+        Exception lastException = null;
+        while (excludedHubs.size() < hubs.size()) {
+            Hub hub = acquire(excludedHubs);
+            long start = nanoTime();
+            try {
+                log.trace("Creating session in Selenium Server at {}",
+                        hub.url);
+                RemoteWebDriver driver = new RemoteWebDriver(hub.url,
+                        capabilities);
+                hub.sessionCreated(nanoTime() - start);
+                sessions.put(driver.getSessionId(), hub);
+                return driver;
+            } catch (Exception e) {
+                log.warn("Exception creating session in {}: {}", hub.url,
+                        e.getMessage());
+                hub.sessionFailed();
+                excludedHubs.add(hub);
+                lastException = e;
+            }
+        }
+        log.error("Session cannot be created in any Selenium Server");
+        throw new SeleniumJupiterException(lastException);
+    }
+
+    /**
+     * Release the hub of the session (sessions not created by this balancer
+     * are ignored).
+     */
+    public void release(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver) {
+            SessionId sessionId = ((RemoteWebDriver) driver).getSessionId();
+            Hub hub = sessionId != null ? sessions.remove(sessionId) : null;
+            if (hub != null) {
+                hub.sessionReleased();
+            }
+        }
+    }
+
+    public List<Hub> getHubs() {
+        return hubs;
+    }
+
+    @Override
+    public void close() {
+        hubs.forEach(hub -> log.info("Selenium Server {}", hub));
+    }
+
+    private Hub acquire(Collection<Hub> excludedHubs) {
+        long now = currentTimeMillis();
+        long statusInterval = SECONDS
+                .toMillis(config().getSeleniumServerStatusInterval());
+        List<Hub> candidates = new ArrayList<>();
+        for (Hub hub : hubs) {
+            if (!excludedHubs.contains(hub)) {
+                // Probes are made out of the lock, since they can be slow
+                hub.probeIfStale(now, statusInterval);
+                if (hub.isAvailable(now)) {
+                    candidates.add(hub);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            log.warn("No healthy Selenium Server found, trying with all");
+            hubs.stream().filter(hub -> !excludedHubs.contains(hub))
+                    .forEach(candidates::add);
+        }
+
+        synchronized (this) {
+            Hub hub;
+            if (selection.equalsIgnoreCase("power-of-two")
+                    && candidates.size() > 2) {
+                int first = random.nextInt(candidates.size());
+                int second = random.nextInt(candidates.size() - 1);
+                if (second >= first) {
+                    second++;
+                }
+                hub = select(candidates.get(first), candidates.get(second));
+            } else {
+                hub = candidates.get(0);
+                for (Hub candidate : candidates) {
+                    hub = select(hub, candidate);
+                }
+            }
+            hub.outstandingSessions.incrementAndGet();
+            return hub;
+        }
+    }
+
+    private Hub select(Hub hub1, Hub hub2) {
+        return hub2.outstandingSessions.get() < hub1.outstandingSessions
+                .get() ? hub2 : hub1;
+    }
+
+    /**
+     * Selenium Server and its statistics.
+     */
+    public static class Hub {
+
+        final Logger log = getLogger(lookup().lookupClass());
+
+        final URL url;
+        // Updated by the balancer and by the hub itself, so it is atomic
+        final AtomicInteger outstandingSessions = new AtomicInteger();
+        int createdSessions;
+        int failedSessions;
+        long totalLatencyNanos;
+        long maxLatencyNanos;
+        long lastProbe;
+        long ejectedUntil;
+        int freeSlots = -1;
+
+        Hub(URL url) {
+            this.url = url;
+        }
+
+        public URL getUrl() {
+            return url;
+        }
+
+        public int getOutstandingSessions() {
+            return outstandingSessions.get();
+        }
+
+        public synchronized int getCreatedSessions() {
+            return createdSessions;
+        }
+
+        public synchronized int getFailedSessions() {
+            return failedSessions;
+        }
+
+        synchronized boolean isAvailable(long now) {
+            return ejectedUntil <= now && freeSlots != 0;
+        }
+
+        synchronized void sessionCreated(long latencyNanos) {
+            createdSessions++;
+            totalLatencyNanos += latencyNanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+            if (freeSlots > 0) {
+                freeSlots--;
+            }
+        }
+
+        synchronized void sessionFailed() {
+            outstandingSessions.decrementAndGet();
+            failedSessions++;
+            eject();
+        }
+
+        void sessionReleased() {
+            outstandingSessions.decrementAndGet();
+        }
+
+        private void eject() {
+            long ejectionTime = SECONDS
+                    .toMillis(config().getSeleniumServerEjectionTime());
+            ejectedUntil = currentTimeMillis() + ejectionTime;
+            // The hub is probed again when the ejection finishes
+            lastProbe = ejectedUntil;
+            log.debug("Selenium Server at {} ejected for {} ms", url,
+                    ejectionTime);
+        }
+
+        void probeIfStale(long now, long statusInterval) {
+            synchronized (this) {
+                if (now - lastProbe < statusInterval) {
+                    return;
+                }
+                lastProbe = now;
+            }
+            boolean healthy = false;
+            int slots = -1;
+            try {
+                URL statusUrl = new URL(url.toString().replaceAll("/$", "")
+                        + "/status");
+                HttpURLConnection connection = (HttpURLConnection) statusUrl
+                        .openConnection();
+                connection.setConnectTimeout(STATUS_TIMEOUT_MS);
+                connection.setReadTimeout(STATUS_TIMEOUT_MS);
+                try (Reader reader = new InputStreamReader(
+                        connection.getInputStream())) {
+                    JsonObject status = new JsonParser().parse(reader)
+                            .getAsJsonObject();
+                    healthy = isReady(status);
+                    slots = getFreeSlots(status);
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (Exception e) {
+                log.debug("Exception probing status of {}: {}", url,
+                        e.getMessage());
+            }
+            synchronized (this) {
+                freeSlots = slots;
+                if (healthy) {
+                    ejectedUntil = 0;
+                } else {
+                    eject();
+                }
+            }
+        }
+
+        private boolean isReady(JsonObject status) {
+            // Selenium Server: {"value": {"ready": true, ...}}
+            JsonElement value = status.get("value");
+            if (value != null && value.isJsonObject()
+                    && value.getAsJsonObject().has("ready")) {
+                return value.getAsJsonObject().get("ready").getAsBoolean();
+            }
+            return true;
+        }
+
+        private int getFreeSlots(JsonObject status) {
+            // Selenoid: {"total": 5, "used": 1, "queued": 0, ...}
+            if (status.has("total") && status.has("used")) {
+                return Math.max(0, status.get("total").getAsInt()
+                        - status.get("used").getAsInt());
+            }
+            return -1;
+        }
+
+        @Override
+        public synchronized String toString() {
+            long averageLatency = createdSessions > 0
+                    ? NANOSECONDS.toMillis(totalLatencyNanos / createdSessions)
+                    : 0;
+            return url + ": " + createdSessions + " sessions created ("
+                    + failedSessions + " failed, " + outstandingSessions
+                    + " outstanding), creation latency avg "
+                    + averageLatency + " ms, max "
+                    + NANOSECONDS.toMillis(maxLatencyNanos) + " ms";
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static java.lang.Math.min;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.IntStream.range;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+
+/**
+ * Pixel comparison of screenshots against a baseline.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class ScreenshotDiff {
+
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    static final int RGB_MASK = 0xFFFFFF;
+    static final int DIFF_COLOR = 0xFFFF0000;
+
+    private ScreenshotDiff() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Compares a screenshot with a baseline image.
+     *
+     * @return ratio (between 0 and 1) of different pixels. Images with
+     *         different size are considered completely different.
+     */
+    public static double compare(byte[] screenshot, Path baselineFile,
+            Path diffFile) throws IOException {
+        BufferedImage actual = ImageIO
+                .read(new ByteArrayInputStream(screenshot));
+        BufferedImage expected = ImageIO.read(baselineFile.toFile());
+        if (actual == null || expected == null) {
+            throw new SeleniumJupiterException(
+                    "Screenshot or baseline " + baselineFile + " is not valid");
+        }
+        int width = actual.getWidth();
+        int height = actual.getHeight();
+        if (width != expected.getWidth() || height != expected.getHeight()) {
+            log.debug("Screenshot size {}x{} does not match baseline {}x{}",
+                    width, height, expected.getWidth(), expected.getHeight());
+            return 1;
+        }
+
+        int[] actualPixels = actual.getRGB(0, 0, width, height, null, 0,
+                width);
+        int[] expectedPixels = expected.getRGB(0, 0, width, height, null, 0,
+                width);
+        int[] diffPixels = new int[actualPixels.length];
+
+        // Rows are processed in parallel (each one writes its own slice)
+        long differentPixels = range(0, height).parallel()
+                .mapToLong(y -> diffRow(actualPixels, expectedPixels,
+                        diffPixels, y * width, width))
+                .sum();
+
+        if (differentPixels > 0 && diffFile != null) {
+            BufferedImage diff = new BufferedImage(width, height,
+                    BufferedImage.TYPE_INT_ARGB);
+            diff.setRGB(0, 0, width, height, diffPixels, 0, width);
+            ImageIO.write(diff, "png", diffFile.toFile());
+        }
+        return (double) differentPixels / actualPixels.length;
+    }
+
+    static int diffRow(int[] actual, int[] expected, int[] diff, int offset,
+            int length) {
+        int count = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if ((actual[i] & RGB_MASK) != (expected[i] & RGB_MASK)) {
+                diff[i] = DIFF_COLOR;
+                count++;
+            } else {
+                // Unchanged pixels are shown faded
+                diff[i] = (min(actual[i] >>> 24, 0x40) << 24)
+                        | (actual[i] & RGB_MASK);
+            }
+        }
+        return count;
+    }
+
+}
@@ -18,18 +18,26 @@ package io.github.bonigarcia;
 
 import static io.github.bonigarcia.SurefireReports.getOutputFolder;
 import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.String.format;
 import static java.lang.invoke.MethodHandles.lookup;
-import static org.apache.commons.io.FileUtils.copyFile;
-import static org.openqa.selenium.OutputType.BASE64;
-import static org.openqa.selenium.OutputType.FILE;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.Files.write;
+import static java.nio.file.Paths.get;
+import static java.util.Base64.getEncoder;
+import static org.openqa.selenium.OutputType.BYTES;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Optional;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
 import org.slf4j.Logger;
 
 /**
@@ -42,6 +50,8 @@ public class ScreenshotManager {
 
     final Logger log = getLogger(lookup().lookupClass());
 
+    static final String BASE64_PREFIX = "data:image/png;base64,";
+
     ExtensionContext context;
 
     public ScreenshotManager(ExtensionContext context) {
@@ -61,45 +71,150 @@ public class ScreenshotManager {
     void makeScreenshot(WebDriver driver, String fileName) {
         if (isScreenshotRequired() && driver != null) {
             String screenshotFormat = config().getScreenshotFormat();
+            boolean base64;
+            boolean png;
             switch (screenshotFormat) {
             case "png":
-                logFileScreenshot(driver, fileName);
+                base64 = false;
+                png = true;
                 break;
             case "base64":
-                logBase64Screenshot(driver, fileName);
+                base64 = true;
+                png = false;
                 break;
             case "base64andpng":
-                logBase64Screenshot(driver, fileName);
-                logFileScreenshot(driver, fileName);
+                base64 = true;
+                png = true;
                 break;
             default:
                 log.warn("Invalid screenshot format {}", screenshotFormat);
-                break;
+                return;
+            }
+
+            byte[] screenshot = getScreenshot(driver);
+            if (screenshot == null) {
+                return;
+            }
+            boolean base64ToFile = base64
+                    && isBase64TooBig(screenshot.length);
+            String outputFolder = png || base64ToFile
+                    ? getOutputFolder(context)
+                    : null;
+            boolean deduplicate = config().isScreenshotDeduplicate();
+            String baselineFolder = config().getScreenshotBaselineFolder();
+            String baselineName = getBaselineName(driver, fileName);
+            Runnable writeScreenshot = () -> {
+                if (base64ToFile) {
+                    logBase64ScreenshotFile(screenshot, fileName,
+                            outputFolder);
+                } else if (base64) {
+                    logBase64Screenshot(screenshot, fileName);
+                }
+                if (png) {
+                    logFileScreenshot(screenshot, fileName, outputFolder,
+                            deduplicate);
+                    if (!baselineFolder.isEmpty()) {
+                        compareWithBaseline(screenshot, fileName,
+                                outputFolder, baselineFolder, baselineName);
+                    }
+                }
+            };
+
+            if (config().isScreenshotAsync()) {
+                ScreenshotWriter.submit(writeScreenshot);
+            } else {
+                writeScreenshot.run();
             }
         }
     }
 
-    void logBase64Screenshot(WebDriver driver, String fileName) {
+    byte[] getScreenshot(WebDriver driver) {
         try {
-            String screenshotBase64 = ((TakesScreenshot) driver)
-                    .getScreenshotAs(BASE64);
+            return ((TakesScreenshot) driver).getScreenshotAs(BYTES);
+        } catch (Exception e) {
+            log.trace("Exception getting screenshot", e);
+            return null;
+        }
+    }
+
+    void logBase64Screenshot(byte[] screenshot, String fileName) {
+        String screenshotBase64 = getEncoder().encodeToString(screenshot);
+        log.info("Screenshot (in Base64) at the end of {} "
+                + "(copy&paste this string as URL in browser to watch it):\r\n"
+                + BASE64_PREFIX + "{}", fileName, screenshotBase64);
+    }
+
+    boolean isBase64TooBig(int screenshotSize) {
+        int maxSize = config().getScreenshotBase64MaxSize();
+        return maxSize > 0 && getBase64Length(screenshotSize) > maxSize;
+    }
+
+    /**
+     * Length of the Base64 encoding (with padding) of the given number of
+     * bytes, i.e. the length of the logged string without encoding it.
+     */
+    static long getBase64Length(int size) {
+        return 4L * ((size + 2) / 3);
+    }
+
+    void logBase64ScreenshotFile(byte[] screenshot, String fileName,
+            String outputFolder) {
+        Path base64File = get(outputFolder, fileName + ".base64");
+        try (OutputStream outputStream = newOutputStream(base64File)) {
+            outputStream.write(BASE64_PREFIX.getBytes(US_ASCII));
+            try (OutputStream base64Stream = getEncoder()
+                    .wrap(outputStream)) {
+                base64Stream.write(screenshot);
+            }
             log.info("Screenshot (in Base64) at the end of {} "
-                    + "(copy&paste this string as URL in browser to watch it):\r\n"
-                    + "data:image/png;base64,{}", fileName, screenshotBase64);
+                    + "({} bytes) written to {}", fileName, screenshot.length,
+                    base64File);
         } catch (Exception e) {
-            log.trace("Exception getting screenshot in Base64", e);
+            log.trace("Exception writing screenshot in Base64", e);
         }
     }
 
-    void logFileScreenshot(WebDriver driver, String fileName) {
+    void logFileScreenshot(byte[] screenshot, String fileName,
+            String outputFolder, boolean deduplicate) {
         try {
-            File screenshotFile = ((TakesScreenshot) driver)
-                    .getScreenshotAs(FILE);
-            String outputFolder = getOutputFolder(context);
-            copyFile(screenshotFile, new File(outputFolder, fileName + ".png"));
+            if (deduplicate) {
+                ScreenshotRepository.store(screenshot, fileName,
+                        outputFolder);
+            } else {
+                write(get(outputFolder, fileName + ".png"), screenshot);
+            }
+        } catch (Exception e) {
+            log.trace("Exception writing screenshot as file", e);
+        }
+    }
 
+    void compareWithBaseline(byte[] screenshot, String fileName,
+            String outputFolder, String baselineFolder, String baselineName) {
+        Path baselineFile = get(baselineFolder, baselineName + ".png");
+        if (!exists(baselineFile)) {
+            log.debug("Baseline screenshot {} not found", baselineFile);
+            return;
+        }
+        try {
+            Path diffFile = get(outputFolder, fileName + "-diff.png");
+            double difference = ScreenshotDiff.compare(screenshot,
+                    baselineFile, diffFile);
+            log.info("Screenshot at the end of {} differs {}% from baseline {}",
+                    fileName, format("%.2f", difference * 100), baselineFile);
         } catch (Exception e) {
-            log.trace("Exception getting screenshot as file", e);
+            log.warn("Exception comparing screenshot {} with baseline {}",
+                    fileName, baselineFile, e);
+        }
+    }
+
+    String getBaselineName(WebDriver driver, String fileName) {
+        // Session ids change in each execution, and so they are removed
+        if (driver instanceof RemoteWebDriver) {
+            SessionId sessionId = ((RemoteWebDriver) driver).getSessionId();
+            if (sessionId != null) {
+                return fileName.replace("_" + sessionId, "");
+            }
         }
+        return fileName;
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.ContentHash.sha256;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createLink;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.write;
+import static java.nio.file.Paths.get;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+
+import com.google.gson.Gson;
+
+/**
+ * Content-addressed storage for PNG screenshots: each different screenshot is
+ * stored once, and the screenshots of the tests are links to it. Each stored
+ * screenshot is appended to an index (one JSON object per line), which is
+ * started again in each execution.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class ScreenshotRepository {
+
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    static final String SCREENSHOTS_FOLDER = "screenshots";
+    static final String INDEX_FILE = "index.jsonl";
+
+    private static Set<Path> indexes = new HashSet<>();
+
+    private ScreenshotRepository() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static synchronized void store(byte[] screenshot, String fileName,
+            String outputFolder) throws IOException {
+        Path repository = get(outputFolder, SCREENSHOTS_FOLDER);
+        createDirectories(repository);
+
+        String hash = getHash(screenshot);
+        Path blob = repository.resolve(hash + ".png");
+        if (exists(blob)) {
+            log.debug("Screenshot {} is a duplicate of {}", fileName, blob);
+        } else {
+            write(blob, screenshot);
+        }
+
+        Path screenshotFile = get(outputFolder, fileName + ".png");
+        deleteIfExists(screenshotFile);
+        try {
+            createLink(screenshotFile, blob);
+        } catch (UnsupportedOperationException | IOException e) {
+            log.trace("Hard link to {} not possible ... copying file ({})",
+                    blob, e.getMessage());
+            write(screenshotFile, screenshot);
+        }
+
+        Map<String, String> entry = new LinkedHashMap<>();
+        entry.put("screenshot", fileName + ".png");
+        entry.put("content", SCREENSHOTS_FOLDER + "/" + hash + ".png");
+        Path index = repository.resolve(INDEX_FILE);
+        if (indexes.add(index.toAbsolutePath().normalize())) {
+            deleteIfExists(index);
+        }
+        write(index, (new Gson().toJson(entry) + "\n").getBytes(UTF_8),
+                CREATE, APPEND);
+    }
+
+    static String getHash(byte[] content) {
+        return sha256(content);
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.Thread.currentThread;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+
+import org.slf4j.Logger;
+
+/**
+ * Background writer for screenshots. The pending screenshots are kept in a
+ * bounded queue: when it is full, the screenshot is written by the caller
+ * thread (back-pressure).
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class ScreenshotWriter {
+
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    static final int FLUSH_TIMEOUT_SEC = 60;
+
+    private static ThreadPoolExecutor executor;
+
+    static {
+        getRuntime().addShutdownHook(new Thread(ScreenshotWriter::flush));
+    }
+
+    private ScreenshotWriter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static synchronized void submit(Runnable task) {
+        if (executor == null) {
+            int queueSize = config().getScreenshotQueueSize();
+            log.trace("Starting screenshot writer (queue size {})", queueSize);
+            executor = new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize), runnable -> {
+                        Thread thread = new Thread(runnable,
+                                "screenshot-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new CallerRunsPolicy());
+        }
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.warn("Exception writing screenshot", e);
+            }
+        });
+    }
+
+    public static synchronized void flush() {
+        if (executor != null) {
+            log.trace("Flushing {} pending screenshot(s)",
+                    executor.getQueue().size());
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(FLUSH_TIMEOUT_SEC, SECONDS)) {
+                    log.warn("Timeout of {} seconds writing screenshots",
+                            FLUSH_TIMEOUT_SEC);
+                }
+            } catch (InterruptedException e) {
+                log.warn("Interrupted Exception while writing screenshots",
+                        e);
+                currentThread().interrupt();
+            }
+            executor = null;
+        }
+    }
+
+}
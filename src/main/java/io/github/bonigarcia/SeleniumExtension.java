@@ -17,36 +17,64 @@
 package io.github.bonigarcia;
 
 import static io.github.bonigarcia.SeleniumJupiter.config;
+import static io.github.bonigarcia.SurefireReports.getOutputFolder;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.nio.charset.Charset.defaultCharset;
 import static java.nio.file.Files.readAllBytes;
 import static java.nio.file.Paths.get;
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
+import static org.junit.platform.commons.support.AnnotationSupport.findAnnotation;
+import static org.junit.platform.commons.support.AnnotationSupport.isAnnotated;
+import static org.junit.platform.commons.support.HierarchyTraversalMode.TOP_DOWN;
+import static org.junit.platform.commons.support.ReflectionSupport.findMethods;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.Extension;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolver;
 import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
 import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.annotation.Testable;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.edge.EdgeDriver;
@@ -62,6 +90,7 @@ import com.spotify.docker.client.exceptions.DockerCertificateException;
 
 import io.appium.java_client.AppiumDriver;
 import io.github.bonigarcia.BrowsersTemplate.Browser;
+import io.github.bonigarcia.SingleSession.Reset;
 import io.github.bonigarcia.handler.AppiumDriverHandler;
 import io.github.bonigarcia.handler.ChromeDriverHandler;
 import io.github.bonigarcia.handler.DriverHandler;
@@ -80,20 +109,30 @@ import io.github.bonigarcia.wdm.WebDriverManager;
  * @author Boni Garcia (boni.gg@gmail.com)
  * @since 1.0.0
  */
-public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
+public class SeleniumExtension implements ParameterResolver,
+        BeforeTestExecutionCallback, AfterEachCallback, AfterAllCallback,
         TestTemplateInvocationContextProvider {
 
     final Logger log = getLogger(lookup().lookupClass());
 
     static final String CLASSPATH_PREFIX = "classpath:";
+    static final Namespace NAMESPACE = Namespace
+            .create(SeleniumExtension.class);
 
     private List<Class<?>> typeList = new ArrayList<>();
-    private List<DriverHandler> driverHandlerList = new ArrayList<>();
+    private List<DriverHandler> driverHandlerList = new CopyOnWriteArrayList<>();
+    private Map<Parameter, Future<Object>> parametersInProgress = new ConcurrentHashMap<>();
+    private Deque<ProvisionedInstance> provisionedInstances = new ArrayDeque<>();
+    private ProvisionedInstance claimedInstance;
+    private ExtensionContext constructorContext;
+    private List<Parameter> constructorParameters;
+    private int startedTests;
     private Map<String, Class<?>> handlerMap = new HashMap<>();
     private Map<String, Class<?>> templateHandlerMap = new HashMap<>();
     private Map<String, DockerContainer> containerMap = new LinkedHashMap<>();
     private List<Browser> browserList;
     private DockerService dockerService;
+    private volatile CommandLatencies commandLatencies;
     private SelenoidConfig selenoidConfig;
 
     public SeleniumExtension() {
@@ -139,11 +178,300 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
                 && !isTestTemplate(extensionContext);
     }
 
+    @Override
+    public void beforeTestExecution(ExtensionContext extensionContext) {
+        if (config().isCommandTracing()) {
+            commandLatencies = new CommandLatencies(
+                    extensionContext.getRequiredTestClass().getSimpleName()
+                            + "." + extensionContext.getDisplayName());
+        }
+        SessionWatchdog sessionWatchdog = SessionWatchdog
+                .getInstance(extensionContext);
+        if (sessionWatchdog != null) {
+            sessionWatchdog.testStarted(driverHandlerList);
+            sessionWatchdog.testStarted(getSessionHandlers(extensionContext));
+        }
+        provisionNextInstances(extensionContext);
+
+        if (!config().isResolveParametersInParallel()
+                || isTestTemplate(extensionContext)
+                || getSingleSession(extensionContext).isPresent()) {
+            return;
+        }
+        List<Parameter> parameters = stream(
+                extensionContext.getRequiredTestMethod().getParameters())
+                        .filter(this::isResolvableInParallel)
+                        .collect(toList());
+        if (parameters.size() < 2) {
+            return;
+        }
+
+        // Browsers are started concurrently, and resolveParameter waits for
+        // each one of them
+        log.debug("Resolving {} parameters in parallel", parameters.size());
+        ExecutorService executorService = newFixedThreadPool(
+                parameters.size());
+        for (Parameter parameter : parameters) {
+            parametersInProgress.put(parameter,
+                    executorService.submit(() -> resolveParameter(parameter,
+                            null, extensionContext, driverHandlerList,
+                            containerMap)));
+        }
+        executorService.shutdown();
+    }
+
+    private boolean isResolvableInParallel(Parameter parameter) {
+        // Generic drivers are excluded, since the fallback to other browsers
+        // is resolved sequentially (using the browser list)
+        Class<?> type = parameter.getType();
+        boolean isGeneric = type.equals(RemoteWebDriver.class)
+                || type.equals(WebDriver.class);
+        return (WebDriver.class.isAssignableFrom(type)
+                || type.equals(List.class))
+                && (!isGeneric
+                        || parameter.isAnnotationPresent(DockerBrowser.class));
+    }
+
     @Override
     public Object resolveParameter(ParameterContext parameterContext,
             ExtensionContext extensionContext) {
-
         Parameter parameter = parameterContext.getParameter();
+        Future<Object> parameterInProgress = parametersInProgress
+                .remove(parameter);
+        if (parameterInProgress != null) {
+            return getParameter(parameterInProgress);
+        }
+        Optional<SingleSession> singleSession = getSingleSession(
+                extensionContext);
+        if (singleSession.isPresent() && !isTestTemplate(extensionContext)) {
+            return resolveSessionParameter(parameter, parameterContext,
+                    extensionContext, singleSession.get().reset());
+        }
+        if (parameter.getDeclaringExecutable() instanceof Constructor) {
+            Optional<Future<Object>> provisionedParameter = claimProvisionedParameter(
+                    parameter, extensionContext);
+            if (provisionedParameter.isPresent()) {
+                return getParameter(provisionedParameter.get());
+            }
+        }
+        return resolveParameter(parameter, parameterContext, extensionContext,
+                driverHandlerList, containerMap);
+    }
+
+    private Optional<SingleSession> getSingleSession(
+            ExtensionContext extensionContext) {
+        return extensionContext.getTestClass()
+                .flatMap(testClass -> findAnnotation(testClass,
+                        SingleSession.class));
+    }
+
+    private Object resolveSessionParameter(Parameter parameter,
+            ParameterContext parameterContext,
+            ExtensionContext extensionContext, Reset reset) {
+        SessionDrivers sessionDrivers = getSessionDrivers(extensionContext);
+        String key = getSessionKey(parameter);
+        SessionDriver sessionDriver = sessionDrivers.drivers.get(key);
+        if (sessionDriver != null) {
+            log.trace("Reusing browser {} (reset {})", key, reset);
+            resetDriver(sessionDriver.object, reset);
+            return sessionDriver.object;
+        }
+
+        List<DriverHandler> handlers = new ArrayList<>();
+        Object object = resolveParameter(parameter, parameterContext,
+                extensionContext, handlers, sessionDrivers.containerMap);
+        // The key can be already registered by a nested resolution (generic
+        // drivers with fallback), which gives the same object
+        sessionDrivers.drivers
+                .computeIfAbsent(key,
+                        k -> new SessionDriver(parameter, object)).handlers
+                                .addAll(handlers);
+        // New browsers are reset too, so that every test starts alike
+        resetDriver(object, reset);
+        return object;
+    }
+
+    private SessionDrivers getSessionDrivers(
+            ExtensionContext extensionContext) {
+        ExtensionContext classContext = extensionContext;
+        while (classContext.getTestMethod().isPresent()
+                && classContext.getParent().isPresent()) {
+            classContext = classContext.getParent().get();
+        }
+        return classContext.getStore(NAMESPACE).getOrComputeIfAbsent(
+                SessionDrivers.class, key -> new SessionDrivers(),
+                SessionDrivers.class);
+    }
+
+    private String getSessionKey(Parameter parameter) {
+        // Parameters with the same type and annotations in different tests
+        // share the browser (the occurrence distinguishes equal parameters
+        // in the same test)
+        Executable executable = parameter.getDeclaringExecutable();
+        String signature = getSignature(parameter);
+        int occurrence = 0;
+        for (Parameter other : executable.getParameters()) {
+            if (other.equals(parameter)) {
+                break;
+            }
+            if (getSignature(other).equals(signature)) {
+                occurrence++;
+            }
+        }
+        String kind = executable instanceof Constructor ? "constructor"
+                : "method";
+        return kind + ":" + signature + "#" + occurrence;
+    }
+
+    private String getSignature(Parameter parameter) {
+        return parameter.getParameterizedType().getTypeName()
+                + Arrays.toString(parameter.getAnnotations());
+    }
+
+    private void resetDriver(Object object, Reset reset) {
+        if (object instanceof List) {
+            ((List<?>) object).forEach(driver -> resetDriver(driver, reset));
+            return;
+        }
+        if (reset == Reset.NONE || !(object instanceof WebDriver)) {
+            return;
+        }
+        WebDriver driver = (WebDriver) object;
+        try {
+            driver.manage().deleteAllCookies();
+            if (reset == Reset.BLANK_PAGE) {
+                driver.get("about:blank");
+            }
+        } catch (Exception e) {
+            log.warn("Exception resetting browser {}", e.getMessage());
+        }
+    }
+
+    private Optional<Future<Object>> claimProvisionedParameter(
+            Parameter parameter, ExtensionContext extensionContext) {
+        if (constructorContext == null) {
+            constructorContext = extensionContext;
+            constructorParameters = asList(
+                    parameter.getDeclaringExecutable().getParameters());
+        }
+        if (claimedInstance == null) {
+            claimedInstance = provisionedInstances.poll();
+            if (claimedInstance == null) {
+                return Optional.empty();
+            }
+            // Handlers are closed after the test which uses them
+            claimedInstance.await();
+            driverHandlerList.addAll(claimedInstance.driverHandlers);
+        }
+        return Optional.ofNullable(claimedInstance.parameters.get(parameter));
+    }
+
+    /**
+     * Start the browsers injected in the constructor of the test class for
+     * the next test instances (up to the lookahead depth), while the current
+     * test is executed.
+     */
+    private void provisionNextInstances(ExtensionContext extensionContext) {
+        startedTests++;
+        int lookaheadDepth = config().getLookaheadDepth();
+        if (lookaheadDepth <= 0 || constructorContext == null
+                || extensionContext.getTestInstanceLifecycle()
+                        .orElse(PER_METHOD) != PER_METHOD
+                || !constructorParameters.stream()
+                        .allMatch(this::isResolvableInParallel)
+                || getSingleSession(extensionContext).isPresent()) {
+            return;
+        }
+        int remainingTests = countTests(
+                extensionContext.getRequiredTestClass()) - startedTests;
+        int browsersPerInstance = constructorParameters.stream()
+                .mapToInt(this::countBrowsers).sum();
+        int maxInstances = min(min(lookaheadDepth, remainingTests),
+                config().getLookaheadMaxBrowsers() / browsersPerInstance);
+
+        while (provisionedInstances.size() < maxInstances) {
+            log.debug("Provisioning {} browsers for a next test instance",
+                    browsersPerInstance);
+            ProvisionedInstance instance = new ProvisionedInstance();
+            ExecutorService executorService = newFixedThreadPool(
+                    constructorParameters.size());
+            for (Parameter parameter : constructorParameters) {
+                instance.parameters.put(parameter, executorService
+                        .submit(() -> provisionParameter(parameter, instance)));
+            }
+            executorService.shutdown();
+            provisionedInstances.add(instance);
+        }
+    }
+
+    private Object provisionParameter(Parameter parameter,
+            ProvisionedInstance instance) {
+        Object object = resolveParameter(parameter, null, constructorContext,
+                instance.driverHandlers, instance.containerMap);
+        // The test deadline starts with the test which claims the browsers
+        SessionWatchdog sessionWatchdog = SessionWatchdog
+                .getInstance(constructorContext);
+        if (sessionWatchdog != null) {
+            sessionWatchdog.testPending(instance.driverHandlers);
+        }
+        return object;
+    }
+
+    private int countTests(Class<?> testClass) {
+        return findMethods(testClass,
+                method -> isAnnotated(method, Testable.class)
+                        && !isAnnotated(method, Disabled.class),
+                TOP_DOWN).size();
+    }
+
+    private int countBrowsers(Parameter parameter) {
+        DockerBrowser dockerBrowser = parameter
+                .getAnnotation(DockerBrowser.class);
+        return parameter.getType().equals(List.class) && dockerBrowser != null
+                ? max(dockerBrowser.size(), 1)
+                : 1;
+    }
+
+    private Object getParameter(Future<Object> parameterInProgress) {
+        try {
+            return parameterInProgress.get();
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+            throw new SeleniumJupiterException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SeleniumJupiterException(e.getCause());
+        }
+    }
+
+    /**
+     * Resolve a generic driver parameter using the given browser, with its own
+     * handlers and containers (used to try fallback browsers concurrently).
+     */
+    public Object resolveParameter(ParameterContext parameterContext,
+            ExtensionContext extensionContext, Browser browser,
+            List<DriverHandler> handlerList) {
+        return resolveParameter(parameterContext.getParameter(),
+                parameterContext, extensionContext, handlerList,
+                new LinkedHashMap<>(), singletonList(browser));
+    }
+
+    private Object resolveParameter(Parameter parameter,
+            ParameterContext parameterContext,
+            ExtensionContext extensionContext,
+            List<DriverHandler> handlerList,
+            Map<String, DockerContainer> containers) {
+        return resolveParameter(parameter, parameterContext, extensionContext,
+                handlerList, containers, browserList);
+    }
+
+    private Object resolveParameter(Parameter parameter,
+            ParameterContext parameterContext,
+            ExtensionContext extensionContext,
+            List<DriverHandler> handlerList,
+            Map<String, DockerContainer> containers, List<Browser> browsers) {
         Class<?> type = parameter.getType();
         boolean isTemplate = isTestTemplate(extensionContext);
         boolean isGeneric = type.equals(RemoteWebDriver.class)
@@ -151,17 +479,19 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
 
         // Check template
         Integer index = null;
-        if (isGeneric && browserList != null) {
+        if (isGeneric && browsers != null) {
             index = isTemplate
                     ? Integer.valueOf(parameter.getName().replaceAll("arg", ""))
                     : 0;
-            type = templateHandlerMap.get(browserList.get(index).getType());
+            type = templateHandlerMap.get(browsers.get(index).getType());
         }
 
         // WebDriverManager
-        if (!typeList.contains(type)) {
-            typeList.add(type);
-            WebDriverManager.getInstance(type).setup();
+        synchronized (typeList) {
+            if (!typeList.contains(type)) {
+                typeList.add(type);
+                WebDriverManager.getInstance(type).setup();
+            }
         }
 
         // Handler
@@ -173,12 +503,12 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
 
         try {
             driverHandler = getDriverHandler(extensionContext, parameter, type,
-                    index, constructorClass, isRemote);
+                    index, constructorClass, isRemote, browsers);
 
             if (type.equals(RemoteWebDriver.class)
                     || type.equals(WebDriver.class)
                     || type.equals(List.class)) {
-                initHandlerForDocker(driverHandler);
+                initHandlerForDocker(driverHandler, containers);
             }
 
             if (!isTemplate && isGeneric && isRemote) {
@@ -187,14 +517,25 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
                         .setParameterContext(parameterContext);
             }
 
-            driverHandlerList.add(driverHandler);
+            handlerList.add(driverHandler);
         } catch (Exception e) {
             handleException(parameter, driverHandler, constructorClass, e);
         }
 
         if (driverHandler != null) {
             driverHandler.resolve();
-            return driverHandler.getObject();
+            Object object = driverHandler.getObject();
+            SessionWatchdog sessionWatchdog = SessionWatchdog
+                    .getInstance(extensionContext);
+            if (sessionWatchdog != null) {
+                sessionWatchdog.watch(driverHandler, object);
+            }
+            CommandTracer commandTracer = CommandTracer
+                    .getInstance(extensionContext);
+            if (commandTracer != null) {
+                commandTracer.trace(object, () -> commandLatencies);
+            }
+            return object;
         } else if (config().isExceptionWhenNoDriver()) {
             throw new SeleniumJupiterException(
                     "No valid handler for " + parameter + " was found");
@@ -205,19 +546,19 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
 
     private DriverHandler getDriverHandler(ExtensionContext extensionContext,
             Parameter parameter, Class<?> type, Integer index,
-            Class<?> constructorClass, boolean isRemote)
+            Class<?> constructorClass, boolean isRemote, List<Browser> browsers)
             throws InstantiationException, IllegalAccessException,
             InvocationTargetException, NoSuchMethodException {
         DriverHandler driverHandler;
-        if (isRemote && browserList != null) {
+        if (isRemote && browsers != null) {
             driverHandler = (DriverHandler) constructorClass
                     .getDeclaredConstructor(Parameter.class,
                             ExtensionContext.class, Browser.class)
                     .newInstance(parameter, extensionContext,
-                            browserList.get(index));
+                            browsers.get(index));
 
         } else if (constructorClass.equals(OtherDriverHandler.class)
-                && browserList != null) {
+                && browsers != null) {
             driverHandler = (DriverHandler) constructorClass
                     .getDeclaredConstructor(Parameter.class,
                             ExtensionContext.class, Class.class)
@@ -238,7 +579,14 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
         if (containerMap == null) {
             containerMap = new LinkedHashMap<>();
         }
-        driverHandler.setContainerMap(containerMap);
+        initHandlerForDocker(driverHandler, containerMap);
+    }
+
+    private synchronized void initHandlerForDocker(
+            DriverHandler driverHandler,
+            Map<String, DockerContainer> containers)
+            throws DockerCertificateException {
+        driverHandler.setContainerMap(containers);
 
         if (dockerService == null) {
             dockerService = new DockerService();
@@ -263,12 +611,160 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void afterEach(ExtensionContext context) {
-        // Make screenshots if required and close browsers
+        // Wait for parameters resolved in parallel but not used (e.g. when
+        // the test is aborted before), so that their browsers are closed
+        for (Future<Object> parameterInProgress : parametersInProgress
+                .values()) {
+            try {
+                parameterInProgress.get();
+            } catch (Exception e) {
+                log.trace("Exception in unused parameter {}", e.getMessage());
+                if (e instanceof InterruptedException) {
+                    currentThread().interrupt();
+                }
+            }
+        }
+        parametersInProgress.clear();
+        claimedInstance = null;
+
+        List<DriverHandler> testHandlers = new ArrayList<>(driverHandlerList);
         ScreenshotManager screenshotManager = new ScreenshotManager(context);
-        for (DriverHandler driverHandler : driverHandlerList) {
+        closeDrivers(driverHandlerList, screenshotManager);
+        if (getSingleSession(context).isPresent()) {
+            makeSessionScreenshots(context, screenshotManager);
+        }
+        writeCommandLatencies(context);
+        checkKilledBrowsers(context, testHandlers);
+    }
+
+    private void checkKilledBrowsers(ExtensionContext context,
+            List<DriverHandler> testHandlers) {
+        SessionWatchdog sessionWatchdog = SessionWatchdog.getInstance(context);
+        if (sessionWatchdog == null) {
+            return;
+        }
+        String killReason = null;
+        for (DriverHandler driverHandler : testHandlers) {
+            String reason = sessionWatchdog.unwatch(driverHandler);
+            killReason = killReason != null ? killReason : reason;
+        }
+        for (DriverHandler driverHandler : getSessionHandlers(context)) {
+            String reason = sessionWatchdog.getKillReason(driverHandler);
+            killReason = killReason != null ? killReason : reason;
+        }
+        if (killReason != null) {
+            throw new SeleniumJupiterException(killReason);
+        }
+    }
+
+    private List<DriverHandler> getSessionHandlers(ExtensionContext context) {
+        if (!getSingleSession(context).isPresent()) {
+            return emptyList();
+        }
+        List<DriverHandler> sessionHandlers = new ArrayList<>();
+        getSessionDrivers(context).drivers.values()
+                .forEach(sessionDriver -> sessionHandlers
+                        .addAll(sessionDriver.handlers));
+        return sessionHandlers;
+    }
+
+    private void writeCommandLatencies(ExtensionContext context) {
+        CommandLatencies testLatencies = commandLatencies;
+        commandLatencies = null;
+        if (testLatencies == null || testLatencies.isEmpty()) {
+            return;
+        }
+        // Named after the test class and the display name of the test, since
+        // methods can be overloaded or repeated (e.g. test templates)
+        File reportFile = new File(getOutputFolder(context),
+                testLatencies.getName().replaceAll("[^\\w.-]", "_") + "_"
+                        + CommandTracer.REPORT_FILE);
+        log.debug("Writing command latencies of {} to {}",
+                testLatencies.getName(), reportFile);
+        try {
+            testLatencies.writeReport(reportFile);
+        } catch (IOException e) {
+            log.warn("Exception writing command latencies", e);
+        }
+    }
+
+    private void makeSessionScreenshots(ExtensionContext context,
+            ScreenshotManager screenshotManager) {
+        // Browsers are not closed, but named after the current test
+        String testName = context.getTestMethod().map(Method::getName)
+                .orElse("");
+        for (SessionDriver sessionDriver : getSessionDrivers(context).drivers
+                .values()) {
+            Object object = sessionDriver.object;
+            String name = testName + "_" + sessionDriver.parameter.getName();
+            try {
+                if (object instanceof List) {
+                    List<?> webDriverList = (List<?>) object;
+                    for (int i = 0; i < webDriverList.size(); i++) {
+                        makeSessionScreenshot(screenshotManager,
+                                (WebDriver) webDriverList.get(i),
+                                name + "_" + i);
+                    }
+                } else if (object instanceof WebDriver) {
+                    makeSessionScreenshot(screenshotManager,
+                            (WebDriver) object, name);
+                }
+            } catch (Exception e) {
+                log.warn("Exception making screenshot of {}", name, e);
+            }
+        }
+    }
+
+    private void makeSessionScreenshot(ScreenshotManager screenshotManager,
+            WebDriver driver, String name) {
+        String fullName = name + "_" + driver.getClass().getSimpleName();
+        if (driver instanceof RemoteWebDriver) {
+            fullName += "_" + ((RemoteWebDriver) driver).getSessionId();
+        }
+        screenshotManager.makeScreenshot(driver, fullName);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        // Close browsers provisioned in advance but not used (e.g. when some
+        // test is skipped)
+        ProvisionedInstance instance;
+        while ((instance = provisionedInstances.poll()) != null) {
+            instance.await();
+            List<DriverHandler> driverHandlers = new ArrayList<>(
+                    instance.driverHandlers);
+            closeDrivers(instance.driverHandlers, null);
+            unwatch(context, driverHandlers);
+        }
+
+        // Close browsers shared by the tests of the class
+        SessionDrivers sessionDrivers = context.getStore(NAMESPACE)
+                .remove(SessionDrivers.class, SessionDrivers.class);
+        if (sessionDrivers != null) {
+            List<DriverHandler> driverHandlers = new ArrayList<>();
+            sessionDrivers.drivers.values().forEach(
+                    sessionDriver -> driverHandlers
+                            .addAll(sessionDriver.handlers));
+            closeDrivers(new ArrayList<>(driverHandlers), null);
+            unwatch(context, driverHandlers);
+        }
+    }
+
+    private void unwatch(ExtensionContext context,
+            List<DriverHandler> driverHandlers) {
+        SessionWatchdog sessionWatchdog = SessionWatchdog.getInstance(context);
+        if (sessionWatchdog != null) {
+            driverHandlers.forEach(sessionWatchdog::unwatch);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void closeDrivers(List<DriverHandler> driverHandlers,
+            ScreenshotManager screenshotManager) {
+        // Make screenshots if required and close browsers
+        for (DriverHandler driverHandler : driverHandlers) {
             try {
                 Object object = driverHandler.getObject();
                 if (object == null) {
@@ -277,15 +773,20 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
                 if (List.class.isAssignableFrom(object.getClass())) {
                     List<RemoteWebDriver> webDriverList = (List<RemoteWebDriver>) object;
                     for (int i = 0; i < webDriverList.size(); i++) {
-                        screenshotManager.makeScreenshot(webDriverList.get(i),
-                                driverHandler.getName() + "_" + i);
+                        if (screenshotManager != null) {
+                            screenshotManager.makeScreenshot(
+                                    webDriverList.get(i),
+                                    driverHandler.getName() + "_" + i);
+                        }
                         webDriverList.get(i).quit();
                     }
 
                 } else {
                     WebDriver webDriver = (WebDriver) object;
-                    screenshotManager.makeScreenshot(webDriver,
-                            driverHandler.getName());
+                    if (screenshotManager != null) {
+                        screenshotManager.makeScreenshot(webDriver,
+                                driverHandler.getName());
+                    }
                     webDriver.quit();
                 }
             } catch (Exception e) {
@@ -294,7 +795,7 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
         }
 
         // Clean handlers
-        for (DriverHandler driverHandler : driverHandlerList) {
+        for (DriverHandler driverHandler : driverHandlers) {
             try {
                 driverHandler.cleanup();
             } catch (Exception e) {
@@ -303,7 +804,7 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
         }
 
         // Clear handler list
-        driverHandlerList.clear();
+        driverHandlers.clear();
     }
 
     @Override
@@ -405,4 +906,46 @@ public class SeleniumExtension implements ParameterResolver, AfterEachCallback,
         this.browserList = browserList;
     }
 
+    /**
+     * Browsers started in advance for the constructor of a next test
+     * instance.
+     */
+    static class ProvisionedInstance {
+        final Map<Parameter, Future<Object>> parameters = new ConcurrentHashMap<>();
+        final List<DriverHandler> driverHandlers = new CopyOnWriteArrayList<>();
+        final Map<String, DockerContainer> containerMap = new LinkedHashMap<>();
+
+        void await() {
+            for (Future<Object> parameter : parameters.values()) {
+                try {
+                    parameter.get();
+                } catch (InterruptedException e) {
+                    currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // Exceptions are thrown when the parameter is claimed
+                }
+            }
+        }
+    }
+
+    /**
+     * Browsers shared by the tests of a class annotated with
+     * {@link SingleSession}.
+     */
+    static class SessionDrivers {
+        final Map<String, SessionDriver> drivers = new LinkedHashMap<>();
+        final Map<String, DockerContainer> containerMap = new LinkedHashMap<>();
+    }
+
+    static class SessionDriver {
+        final Parameter parameter;
+        final Object object;
+        final List<DriverHandler> handlers = new ArrayList<>();
+
+        SessionDriver(Parameter parameter, Object object) {
+            this.parameter = parameter;
+            this.object = object;
+        }
+    }
+
 }
@@ -17,6 +17,7 @@
 package io.github.bonigarcia;
 
 import static java.lang.Runtime.getRuntime;
+import static java.lang.Thread.currentThread;
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -29,7 +30,7 @@ import io.github.bonigarcia.config.Config;
 import io.github.bonigarcia.handler.DockerDriverHandler;
 
 /**
- * Main class for interactive mode.
+ * Main class for interactive mode, server mode, and startup benchmark.
  *
  * @author Boni Garcia (boni.gg@gmail.com)
  * @since 1.0.0
@@ -49,11 +50,24 @@ public class SeleniumJupiter {
 
     public static void main(String[] args) {
         String validBrowsers = "chrome|firefox|opera";
-        if (args.length <= 0) {
+        if (args.length <= 0
+                || (args[0].equalsIgnoreCase("bench") && args.length < 2)) {
             log.error("Usage: SeleniumJupiter browserName <version>");
             log.error("\t...where:");
             log.error("\tbrowserName = {}", validBrowsers);
             log.error("\tversion = optional version (latest if empty)");
+            log.error("Usage: SeleniumJupiter server <port>");
+            log.error("\t...where:");
+            log.error("\tport = optional port of the HTTP API (default {})",
+                    config().getServerPort());
+            log.error("Usage: SeleniumJupiter bench browserName <version>");
+            log.error("\t...where:");
+            log.error("\tbrowserName = {}", validBrowsers);
+            log.error("\tversion = optional version (latest if empty)");
+        } else if (args[0].equalsIgnoreCase("server")) {
+            runServer(args);
+        } else if (args[0].equalsIgnoreCase("bench")) {
+            runBenchmark(args);
         } else {
             String browser = args[0];
             String version = "";
@@ -73,7 +87,6 @@ public class SeleniumJupiter {
 
                 BrowserType browserType = BrowserType
                         .valueOf(browser.toUpperCase());
-                browserType.init();
 
                 WebDriver webdriver = dockerDriverHandler.resolve(browserType,
                         version);
@@ -99,6 +112,44 @@ public class SeleniumJupiter {
         }
     }
 
+    private static void runServer(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1])
+                : config().getServerPort();
+        config().setBrowserSessionTimeoutDuration("99h0m0s");
+
+        BrowserServer browserServer = new BrowserServer(port,
+                config().getServerPoolSize());
+        try {
+            browserServer.start();
+            getRuntime().addShutdownHook(new Thread(browserServer::stop));
+            browserServer.warm(config().getServerPoolBrowsers());
+
+            log.info("Press Ctrl+C to stop the server");
+            browserServer.awaitStop();
+
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+            browserServer.stop();
+        } catch (Exception e) {
+            log.error("Exception in Selenium-Jupiter server", e);
+            browserServer.stop();
+        }
+    }
+
+    private static void runBenchmark(String[] args) {
+        BrowserType browserType = BrowserType.valueOf(args[1].toUpperCase());
+        String version = args.length > 2 ? args[2] : "";
+        StartupBenchmark startupBenchmark = new StartupBenchmark(browserType,
+                version, config().getBenchSessions(),
+                config().getBenchConcurrency());
+        try {
+            startupBenchmark.run();
+            log.info("{}", startupBenchmark.getReport());
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+        }
+    }
+
     private static void cleanContainers(DockerDriverHandler dockerDriverHandler,
             WebDriver webdriver) {
         if (webdriver != null) {
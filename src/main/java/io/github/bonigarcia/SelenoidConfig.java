@@ -16,12 +16,16 @@
  */
 package io.github.bonigarcia;
 
-import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.unmodifiableNavigableMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
 
 import org.slf4j.Logger;
 
@@ -40,9 +44,25 @@ public class SelenoidConfig {
     final Logger log = getLogger(lookup().lookupClass());
 
     DockerBrowserConfig browsers;
+    Map<BrowserType, NavigableMap<BrowserVersion, String>> versionIndex = new EnumMap<>(
+            BrowserType.class);
 
     public SelenoidConfig() {
         browsers = new DockerBrowserConfig();
+        indexVersions();
+    }
+
+    private void indexVersions() {
+        for (BrowserType browser : BrowserType.values()) {
+            NavigableMap<BrowserVersion, String> index = new TreeMap<>();
+            for (String version : browsers.getBrowserConfig(browser)
+                    .getVersions().keySet()) {
+                if (BrowserVersion.isValid(version)) {
+                    index.put(new BrowserVersion(version), version);
+                }
+            }
+            versionIndex.put(browser, unmodifiableNavigableMap(index));
+        }
     }
 
     public String getBrowsersJsonAsString() {
@@ -52,9 +72,15 @@ public class SelenoidConfig {
 
     public String getVersionFromLabel(BrowserType browser, String label) {
         int beforeVersion = Integer.parseInt(label.replace("latest-", ""));
-        String latestVersion = getLatestImage(browser);
-        String previousVersion = getPreviousVersion(beforeVersion,
-                latestVersion);
+        String latestVersion = getDefaultBrowser(browser);
+        int latestMajor = new BrowserVersion(latestVersion).getMajor();
+        String previousVersion = null;
+        if (beforeVersion <= latestMajor) {
+            String previousMajor = String.valueOf(latestMajor - beforeVersion);
+            previousVersion = getNewestVersionWithPrefix(browser,
+                    new BrowserVersion(previousMajor))
+                            .orElse(previousMajor + ".0");
+        }
         log.debug("Version {} for {} (latest version {}) = {}", label, browser,
                 latestVersion, previousVersion);
         return previousVersion;
@@ -68,15 +94,42 @@ public class SelenoidConfig {
             return version;
         }
 
-        for (String v : versions.keySet()) {
-            if (v.startsWith(version)) {
-                return v;
+        if (BrowserVersion.isValid(version)) {
+            Optional<String> newestVersion = getNewestVersionWithPrefix(
+                    browser, new BrowserVersion(version));
+            if (newestVersion.isPresent()) {
+                return newestVersion.get();
             }
         }
 
         throw new SeleniumJupiterException(
-                "Version " + version + " is not valid for Chrome");
+                "Version " + version + " is not valid for " + browser);
+    }
 
+    public Optional<String> getNewestVersionWithPrefix(BrowserType browser,
+            BrowserVersion prefix) {
+        NavigableMap<BrowserVersion, String> matches = getVersions(browser)
+                .subMap(prefix, true, prefix.nextPrefix(), false);
+        return matches.isEmpty() ? Optional.empty()
+                : Optional.of(matches.lastEntry().getValue());
+    }
+
+    /**
+     * Numeric versions available for a browser, sorted from oldest to newest
+     * (for prefix and range queries).
+     */
+    public NavigableMap<BrowserVersion, String> getVersions(
+            BrowserType browser) {
+        return versionIndex.get(browser);
+    }
+
+    /**
+     * Numeric versions available for a browser within a range (e.g. 64.x or
+     * [63,65]), sorted from oldest to newest.
+     */
+    public NavigableMap<BrowserVersion, String> getVersionsInRange(
+            BrowserType browser, String range) {
+        return VersionRange.parse(range).filter(getVersions(browser));
     }
 
     public String getImageFromVersion(BrowserType browser, String version) {
@@ -91,15 +144,4 @@ public class SelenoidConfig {
     public String getDefaultBrowser(BrowserType browser) {
         return browsers.getBrowserConfig(browser).getDefaultBrowser();
     }
-
-    private String getPreviousVersion(int beforeVersion, String latestVersion) {
-        int iLatestVersion = latestVersion.indexOf('_') + 1;
-        int jLatestVersion = latestVersion.indexOf('.');
-        int latestVersionInt = parseInt(
-                latestVersion.substring(iLatestVersion, jLatestVersion));
-        if (beforeVersion > latestVersionInt) {
-            return null;
-        }
-        return String.valueOf(latestVersionInt - beforeVersion) + ".0";
-    }
 }
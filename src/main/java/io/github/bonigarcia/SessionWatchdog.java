@@ -0,0 +1,315 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.CommandExecutors.setCommandExecutor;
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.System.nanoTime;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.synchronizedMap;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.service.DriverCommandExecutor;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+
+import io.github.bonigarcia.DriverServicePool.SharedDriverService;
+import io.github.bonigarcia.handler.DriverHandler;
+
+/**
+ * Watchdog of the browsers created by the handlers. It tracks the commands in
+ * flight of each browser, enforcing deadlines per command
+ * (sel.jup.command.deadline.sec) and per test (sel.jup.test.deadline.sec).
+ * When a deadline is exceeded, the browser is killed (its Docker containers
+ * or the process of its driver server), so blocked calls finish at once
+ * instead of waiting for the HTTP read timeout. The watchdog is kept in the
+ * root store of the extension context.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class SessionWatchdog implements CloseableResource {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final Namespace NAMESPACE = Namespace.create(SessionWatchdog.class);
+    static final long CHECK_PERIOD_MS = 500;
+
+    private final long commandDeadlineNanos;
+    private final long testDeadlineNanos;
+    private final Map<DriverHandler, WatchedBrowser> browsers = new ConcurrentHashMap<>();
+    private final Map<Object, WatchedBrowser> watchedDrivers = synchronizedMap(
+            new IdentityHashMap<>());
+    private final ScheduledExecutorService scheduler;
+
+    public SessionWatchdog(int commandDeadlineSec, int testDeadlineSec) {
+        this.commandDeadlineNanos = SECONDS.toNanos(commandDeadlineSec);
+        this.testDeadlineNanos = SECONDS.toNanos(testDeadlineSec);
+        scheduler = newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "selenium-jupiter-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, CHECK_PERIOD_MS,
+                CHECK_PERIOD_MS, MILLISECONDS);
+    }
+
+    /**
+     * Watchdog stored in the root context, or null if no deadline is
+     * configured.
+     */
+    public static SessionWatchdog getInstance(ExtensionContext context) {
+        int commandDeadlineSec = config().getCommandDeadlineSec();
+        int testDeadlineSec = config().getTestDeadlineSec();
+        if (commandDeadlineSec <= 0 && testDeadlineSec <= 0) {
+            return null;
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                SessionWatchdog.class,
+                key -> new SessionWatchdog(commandDeadlineSec,
+                        testDeadlineSec),
+                SessionWatchdog.class);
+    }
+
+    /**
+     * Watch the driver (or list of drivers) resolved by the handler, wrapping
+     * their command executors.
+     */
+    public void watch(DriverHandler driverHandler, Object object) {
+        List<Object> drivers = new ArrayList<>();
+        if (object instanceof List) {
+            drivers.addAll((List<?>) object);
+        } else {
+            drivers.add(object);
+        }
+        for (Object driver : drivers) {
+            if (!(driver instanceof RemoteWebDriver)) {
+                continue;
+            }
+            WatchedBrowser browser = watchedDrivers.get(driver);
+            if (browser != null) {
+                // Driver resolved by a nested handler (generic driver), which
+                // is the one used to kill the browser
+                browsers.putIfAbsent(driverHandler, browser);
+            } else {
+                browser = browsers.computeIfAbsent(driverHandler,
+                        WatchedBrowser::new);
+                wrap(browser, (RemoteWebDriver) driver);
+            }
+        }
+    }
+
+    /**
+     * Restart the test deadline of the browsers of the handlers (e.g. for
+     * browsers created before the test, like those of the constructor).
+     */
+    public void testStarted(List<DriverHandler> driverHandlers) {
+        long now = nanoTime();
+        for (DriverHandler driverHandler : driverHandlers) {
+            WatchedBrowser browser = browsers.get(driverHandler);
+            if (browser != null) {
+                browser.testStart = now;
+                browser.testPending = false;
+            }
+        }
+    }
+
+    /**
+     * Hold the test deadline of the browsers of the handlers until the test
+     * which uses them starts (e.g. for browsers provisioned in advance for
+     * next tests).
+     */
+    public void testPending(List<DriverHandler> driverHandlers) {
+        for (DriverHandler driverHandler : driverHandlers) {
+            WatchedBrowser browser = browsers.get(driverHandler);
+            if (browser != null) {
+                browser.testPending = true;
+            }
+        }
+    }
+
+    /**
+     * Stop watching the browser of the handler, returning the reason why it
+     * was killed (or null if it was not).
+     */
+    public String unwatch(DriverHandler driverHandler) {
+        WatchedBrowser browser = browsers.remove(driverHandler);
+        if (browser == null) {
+            return null;
+        }
+        if (!browsers.containsValue(browser)) {
+            browser.drivers.forEach(watchedDrivers::remove);
+        }
+        return browser.killReason;
+    }
+
+    public String getKillReason(DriverHandler driverHandler) {
+        WatchedBrowser browser = browsers.get(driverHandler);
+        return browser != null ? browser.killReason : null;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        browsers.clear();
+        watchedDrivers.clear();
+    }
+
+    private void wrap(WatchedBrowser browser, RemoteWebDriver driver) {
+        CommandExecutor commandExecutor = driver.getCommandExecutor();
+        if (commandExecutor instanceof WatchdogCommandExecutor) {
+            return;
+        }
+        try {
+            setCommandExecutor(driver,
+                    new WatchdogCommandExecutor(commandExecutor, browser));
+            browser.commandExecutors.add(commandExecutor);
+            browser.drivers.add(driver);
+            watchedDrivers.put(driver, browser);
+        } catch (Exception e) {
+            log.warn("Commands of {} cannot be watched: {}",
+                    driver.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    void check() {
+        long now = nanoTime();
+        for (WatchedBrowser browser : browsers.values()) {
+            if (browser.killReason != null) {
+                continue;
+            }
+            String command = browser.command;
+            long commandStart = browser.commandStart;
+            if (commandDeadlineNanos > 0 && command != null
+                    && now - commandStart > commandDeadlineNanos) {
+                kill(browser, "Command " + command
+                        + " exceeded the deadline of "
+                        + NANOSECONDS.toSeconds(commandDeadlineNanos)
+                        + " seconds");
+            } else if (testDeadlineNanos > 0 && !browser.testPending
+                    && now - browser.testStart > testDeadlineNanos) {
+                kill(browser, "Test exceeded the deadline of "
+                        + NANOSECONDS.toSeconds(testDeadlineNanos)
+                        + " seconds");
+            }
+        }
+    }
+
+    private void kill(WatchedBrowser browser, String reason) {
+        browser.killReason = reason + ", browser killed";
+        log.warn("{} ({}), killing browser", reason,
+                browser.driverHandler.getClass().getSimpleName());
+        try {
+            if (!browser.driverHandler.kill()) {
+                for (CommandExecutor executor : browser.commandExecutors) {
+                    killDriverService(executor);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Exception killing browser", e);
+        }
+    }
+
+    private void killDriverService(CommandExecutor commandExecutor)
+            throws ReflectiveOperationException {
+        if (!(commandExecutor instanceof DriverCommandExecutor)) {
+            log.warn("Browser cannot be killed, since it is remote");
+            return;
+        }
+        Field serviceField = DriverCommandExecutor.class
+                .getDeclaredField("service");
+        serviceField.setAccessible(true);
+        DriverService driverService = (DriverService) serviceField
+                .get(commandExecutor);
+        if (driverService instanceof SharedDriverService) {
+            // Stopping it would kill the browsers of other tests
+            log.warn("Driver server {} is shared and it is not killed",
+                    driverService.getUrl());
+            return;
+        }
+        log.info("Killing driver server at {}", driverService.getUrl());
+        driverService.stop();
+    }
+
+    static class WatchedBrowser {
+        final DriverHandler driverHandler;
+        final List<CommandExecutor> commandExecutors = new CopyOnWriteArrayList<>();
+        final List<RemoteWebDriver> drivers = new CopyOnWriteArrayList<>();
+        volatile String command;
+        volatile long commandStart;
+        volatile long testStart = nanoTime();
+        volatile boolean testPending;
+        volatile String killReason;
+
+        WatchedBrowser(DriverHandler driverHandler) {
+            this.driverHandler = driverHandler;
+        }
+    }
+
+    static class WatchdogCommandExecutor implements CommandExecutor {
+        final CommandExecutor commandExecutor;
+        final WatchedBrowser browser;
+
+        WatchdogCommandExecutor(CommandExecutor commandExecutor,
+                WatchedBrowser browser) {
+            this.commandExecutor = commandExecutor;
+            this.browser = browser;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            if (browser.killReason != null) {
+                throw new TimeoutException(browser.killReason);
+            }
+            browser.commandStart = nanoTime();
+            browser.command = command.getName();
+            try {
+                return commandExecutor.execute(command);
+            } catch (IOException | RuntimeException e) {
+                if (browser.killReason != null) {
+                    throw new TimeoutException(browser.killReason, e);
+                }
+                throw e;
+            } finally {
+                browser.command = null;
+            }
+        }
+    }
+
+}
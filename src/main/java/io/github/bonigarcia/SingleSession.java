@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SingleSession.Reset.DELETE_COOKIES;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation for test classes in which browsers are created once and shared
+ * by all their tests (they are quit after all tests). Before each test, the
+ * browsers are reset as specified.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+@Inherited
+public @interface SingleSession {
+
+    public Reset reset() default DELETE_COOKIES;
+
+    public enum Reset {
+        /**
+         * Browsers are used as they were left by the former test.
+         */
+        NONE,
+        /**
+         * All cookies of the current domain are deleted.
+         */
+        DELETE_COOKIES,
+        /**
+         * All cookies of the current domain are deleted, and then a blank page
+         * is loaded.
+         */
+        BLANK_PAGE
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.StartupPhase.QUIT;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import io.github.bonigarcia.handler.DockerDriverHandler;
+
+/**
+ * Benchmark of the startup of browsers in Docker (bench mode of the command
+ * line interface). It creates a number of browsers with a given concurrency,
+ * each one through its own DockerDriverHandler (as a test with a browser in
+ * Docker does), and reports the throughput and the latency percentiles of
+ * each phase of the provisioning.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class StartupBenchmark {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    private final BrowserType browser;
+    private final String version;
+    private final int sessions;
+    private final int concurrency;
+    private final CommandLatencies phaseLatencies;
+    private int failedSessions;
+    private long elapsedNanos;
+
+    public StartupBenchmark(BrowserType browser, String version, int sessions,
+            int concurrency) {
+        this.browser = browser;
+        this.version = version;
+        this.sessions = sessions;
+        this.concurrency = concurrency;
+        this.phaseLatencies = new CommandLatencies(
+                browser.name().toLowerCase() + " " + version);
+    }
+
+    public void run() throws InterruptedException {
+        log.info("Starting {} browsers {} {} (concurrency {})", sessions,
+                browser, version.isEmpty() ? "(latest)" : version,
+                concurrency);
+        ExecutorService executorService = newFixedThreadPool(concurrency);
+        long start = nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                futures.add(executorService.submit(this::runSession));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failedSessions++;
+                    log.warn("Exception creating browser: {}",
+                            e.getCause().getMessage());
+                }
+            }
+        } finally {
+            elapsedNanos = nanoTime() - start;
+            executorService.shutdownNow();
+        }
+    }
+
+    private void runSession() {
+        DockerDriverHandler dockerDriverHandler;
+        try {
+            dockerDriverHandler = new DockerDriverHandler();
+        } catch (Exception e) {
+            throw new SeleniumJupiterException(e);
+        }
+        dockerDriverHandler.getDockerService()
+                .setPhaseLatencies(phaseLatencies);
+        try {
+            WebDriver webdriver = dockerDriverHandler.resolve(browser,
+                    version);
+            long start = nanoTime();
+            webdriver.quit();
+            phaseLatencies.record(QUIT.toString(), nanoTime() - start);
+        } finally {
+            dockerDriverHandler.cleanup();
+            dockerDriverHandler.close();
+        }
+    }
+
+    public CommandLatencies getPhaseLatencies() {
+        return phaseLatencies;
+    }
+
+    public int getFailedSessions() {
+        return failedSessions;
+    }
+
+    /**
+     * Browsers created and closed per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos > 0
+                ? (sessions - failedSessions) / (elapsedNanos / 1e9)
+                : 0;
+    }
+
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(format("Startup benchmark of %s (%d browsers, "
+                + "concurrency %d)%n", phaseLatencies.getName(), sessions,
+                concurrency));
+        report.append(format("Throughput: %.2f browsers/s (%d failed)%n",
+                getThroughput(), failedSessions));
+        report.append(format("%-16s %8s %10s %10s %10s %10s%n", "phase (ms)",
+                "count", "p50", "p95", "p99", "max"));
+        for (StartupPhase phase : StartupPhase.values()) {
+            LatencyHistogram histogram = phaseLatencies.getHistograms()
+                    .get(phase.toString());
+            if (histogram != null) {
+                report.append(format("%-16s %8d %10.1f %10.1f %10.1f %10.1f%n",
+                        phase, histogram.getCount(),
+                        histogram.getPercentileMicros(50) / 1000.0,
+                        histogram.getPercentileMicros(95) / 1000.0,
+                        histogram.getPercentileMicros(99) / 1000.0,
+                        histogram.getMaxMicros() / 1000.0));
+            }
+        }
+        return report.toString();
+    }
+
+}
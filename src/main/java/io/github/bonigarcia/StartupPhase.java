@@ -0,0 +1,43 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+/**
+ * Phases of the provisioning of a browser in Docker, whose latencies are
+ * recorded (e.g. by the startup benchmark) with the name of the phase.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public enum StartupPhase {
+
+    IMAGE_CHECK("image check"), CONTAINER_START("container start"),
+    SESSION_CREATE("session create"), QUIT("quit"),
+    CONTAINER_STOP("container stop");
+
+    private final String name;
+
+    StartupPhase(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
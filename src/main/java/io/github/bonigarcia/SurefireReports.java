@@ -40,6 +40,8 @@ public class SurefireReports {
 
     static final Logger log = getLogger(lookup().lookupClass());
 
+    static final String SUREFIRE_REPORTS = "./target/surefire-reports/";
+
     private SurefireReports() {
         throw new IllegalStateException("Utility class");
     }
@@ -57,6 +59,24 @@ public class SurefireReports {
             }
         }
 
+        return createOutputFolder(outputFolder);
+    }
+
+    /**
+     * Output folder for the reports of the whole execution (instead of a given
+     * test), such as the command latencies of all tests.
+     */
+    public static String getOutputFolder() {
+        String outputFolder = config().getOutputFolder();
+        if (outputFolder.equalsIgnoreCase("surefire-reports")) {
+            outputFolder = SUREFIRE_REPORTS;
+        } else if (outputFolder.isEmpty()) {
+            outputFolder = ".";
+        }
+        return createOutputFolder(outputFolder);
+    }
+
+    private static String createOutputFolder(String outputFolder) {
         log.trace("Output folder {}", outputFolder);
         File outputFolderFile = new File(outputFolder);
         if (!outputFolderFile.exists()) {
@@ -68,8 +88,7 @@ public class SurefireReports {
     private static String getSurefireOutputFolder(Method testMethod,
             Class<?> testInstance) {
         Annotation[] annotations = testMethod.getAnnotations();
-        StringBuilder stringBuilder = new StringBuilder(
-                "./target/surefire-reports/");
+        StringBuilder stringBuilder = new StringBuilder(SUREFIRE_REPORTS);
 
         boolean isTestTemplate = stream(annotations)
                 .map(Annotation::annotationType)
@@ -0,0 +1,120 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import java.util.NavigableMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Range of browser versions, declared with a wildcard (e.g. 64.x or 64.*) or
+ * with interval notation (e.g. [63,65], (63,65), or [63,)). Bounds match
+ * every version starting with them, so [63,65] includes 65.0 and (63,65)
+ * excludes 63.0. Internally, the range is normalized as [from, to), being
+ * null an unbounded side.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class VersionRange {
+
+    static final Pattern WILDCARD_PATTERN = Pattern
+            .compile("(\\d+(?:\\.\\d+)*)\\.[xX*]");
+    static final Pattern INTERVAL_PATTERN = Pattern.compile(
+            "([\\[(])\\s*(\\d+(?:\\.\\d+)*)?\\s*,\\s*(\\d+(?:\\.\\d+)*)?\\s*([\\])])");
+
+    private final String range;
+    private final BrowserVersion from;
+    private final BrowserVersion to;
+
+    private VersionRange(String range, BrowserVersion from,
+            BrowserVersion to) {
+        this.range = range;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static boolean isRange(String version) {
+        if (version == null) {
+            return false;
+        }
+        String trimmedVersion = version.trim();
+        return WILDCARD_PATTERN.matcher(trimmedVersion).matches()
+                || INTERVAL_PATTERN.matcher(trimmedVersion).matches();
+    }
+
+    public static VersionRange parse(String range) {
+        String trimmedRange = range == null ? "" : range.trim();
+        Matcher wildcard = WILDCARD_PATTERN.matcher(trimmedRange);
+        if (wildcard.matches()) {
+            BrowserVersion prefix = new BrowserVersion(wildcard.group(1));
+            return new VersionRange(range, prefix, prefix.nextPrefix());
+        }
+
+        Matcher interval = INTERVAL_PATTERN.matcher(trimmedRange);
+        if (interval.matches()) {
+            BrowserVersion from = null;
+            if (interval.group(2) != null) {
+                from = new BrowserVersion(interval.group(2));
+                if (interval.group(1).equals("(")) {
+                    from = from.nextPrefix();
+                }
+            }
+            BrowserVersion to = null;
+            if (interval.group(3) != null) {
+                to = new BrowserVersion(interval.group(3));
+                if (interval.group(4).equals("]")) {
+                    to = to.nextPrefix();
+                }
+            }
+            return new VersionRange(range, from, to);
+        }
+
+        throw new SeleniumJupiterException(
+                "Version range " + range + " is not valid");
+    }
+
+    /**
+     * Versions of the map within this range (a view, sorted as the input).
+     */
+    public <V> NavigableMap<BrowserVersion, V> filter(
+            NavigableMap<BrowserVersion, V> versions) {
+        if (from != null && to != null) {
+            return from.compareTo(to) < 0
+                    ? versions.subMap(from, true, to, false)
+                    : versions.subMap(from, true, from, false);
+        }
+        if (from != null) {
+            return versions.tailMap(from, true);
+        }
+        if (to != null) {
+            return versions.headMap(to, false);
+        }
+        return versions;
+    }
+
+    public boolean contains(BrowserVersion version) {
+        return (from == null || from.compareTo(version) <= 0)
+                && (to == null || version.compareTo(to) < 0);
+    }
+
+    @Override
+    public String toString() {
+        return range;
+    }
+
+}
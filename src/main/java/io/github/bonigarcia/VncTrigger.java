@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia;
+
+import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+
+/**
+ * Trigger of the noVNC viewers in lazy VNC mode (sel.jup.vnc.lazy). Browsers
+ * are started with VNC, but the noVNC container of each session is only
+ * started when requested, i.e. when the trigger file
+ * (sel.jup.vnc.lazy.trigger.file) is created. Then, the viewers of the
+ * running sessions are started and the file is removed. The trigger is kept
+ * in the root store of the extension context.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class VncTrigger implements CloseableResource {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final Namespace NAMESPACE = Namespace.create(VncTrigger.class);
+    static final long CHECK_PERIOD_MS = 500;
+
+    private final File triggerFile;
+    private final Set<Runnable> viewers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    public VncTrigger(File triggerFile) {
+        this.triggerFile = triggerFile;
+        scheduler = newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "selenium-jupiter-vnc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, CHECK_PERIOD_MS,
+                CHECK_PERIOD_MS, MILLISECONDS);
+    }
+
+    /**
+     * Trigger stored in the root context, or null if VNC is not lazy or there
+     * is no context (e.g. in the command line, where the viewer is required
+     * at once).
+     */
+    public static VncTrigger getInstance(ExtensionContext context) {
+        if (context == null || !config().isVnc() || !config().isVncLazy()) {
+            return null;
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                VncTrigger.class,
+                key -> new VncTrigger(
+                        new File(config().getVncLazyTriggerFile())),
+                VncTrigger.class);
+    }
+
+    /**
+     * Register the logic which starts the viewer of a session (executed at
+     * most once).
+     */
+    public void add(Runnable viewer) {
+        viewers.add(viewer);
+    }
+
+    public void remove(Runnable viewer) {
+        viewers.remove(viewer);
+    }
+
+    public File getTriggerFile() {
+        return triggerFile;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        viewers.clear();
+    }
+
+    void check() {
+        if (!triggerFile.exists()) {
+            return;
+        }
+        log.debug("Trigger file {} found, starting VNC viewers", triggerFile);
+        if (!triggerFile.delete()) {
+            log.warn("Trigger file {} cannot be removed", triggerFile);
+        }
+        List<Runnable> requestedViewers = new ArrayList<>(viewers);
+        viewers.removeAll(requestedViewers);
+        for (Runnable viewer : requestedViewers) {
+            try {
+                viewer.run();
+            } catch (Exception e) {
+                log.warn("Exception starting VNC viewer", e);
+            }
+        }
+    }
+
+}
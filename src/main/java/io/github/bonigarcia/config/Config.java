@@ -49,8 +49,8 @@ public class Config {
             "sel.jup.vnc.create.redirect.html.page", Boolean.class);
     ConfigKey<String> vncExport = new ConfigKey<>("sel.jup.vnc.export",
             String.class);
-    ConfigKey<Boolean> recording = new ConfigKey<>("sel.jup.recording",
-            Boolean.class);
+    ConfigKey<String> recording = new ConfigKey<>("sel.jup.recording",
+            String.class);
     ConfigKey<String> recordingVideoScreenSize = new ConfigKey<>(
             "sel.jup.recording.video.screen.size", String.class);
     ConfigKey<Integer> recordingVideoFrameRate = new ConfigKey<>(
@@ -63,6 +63,80 @@ public class Config {
             "sel.jup.screenshot.at.the.end.of.tests", String.class);
     ConfigKey<String> screenshotFormat = new ConfigKey<>(
             "sel.jup.screenshot.format", String.class);
+    ConfigKey<Integer> screenshotBase64MaxSize = new ConfigKey<>(
+            "sel.jup.screenshot.base64.max.size", Integer.class);
+    ConfigKey<Boolean> screenshotDeduplicate = new ConfigKey<>(
+            "sel.jup.screenshot.deduplicate", Boolean.class);
+    ConfigKey<String> screenshotBaselineFolder = new ConfigKey<>(
+            "sel.jup.screenshot.baseline.folder", String.class);
+    ConfigKey<Boolean> screenshotAsync = new ConfigKey<>(
+            "sel.jup.screenshot.async", Boolean.class);
+    ConfigKey<Integer> screenshotQueueSize = new ConfigKey<>(
+            "sel.jup.screenshot.queue.size", Integer.class);
+    ConfigKey<String> driverServiceScope = new ConfigKey<>(
+            "sel.jup.driver.service.scope", String.class);
+    ConfigKey<Integer> appiumServicePoolSize = new ConfigKey<>(
+            "sel.jup.appium.service.pool.size", Integer.class);
+    ConfigKey<Integer> appiumServicePoolTimeoutSec = new ConfigKey<>(
+            "sel.jup.appium.service.pool.timeout.sec", Integer.class);
+    ConfigKey<String> extensionsCacheFolder = new ConfigKey<>(
+            "sel.jup.extensions.cache.folder", String.class);
+    ConfigKey<Boolean> resolveParametersInParallel = new ConfigKey<>(
+            "sel.jup.resolve.parameters.in.parallel", Boolean.class);
+    ConfigKey<Integer> lookaheadDepth = new ConfigKey<>(
+            "sel.jup.lookahead.depth", Integer.class);
+    ConfigKey<Integer> lookaheadMaxBrowsers = new ConfigKey<>(
+            "sel.jup.lookahead.max.browsers", Integer.class);
+    ConfigKey<String> seleniumServerSelection = new ConfigKey<>(
+            "sel.jup.selenium.server.selection", String.class);
+    ConfigKey<Integer> seleniumServerStatusInterval = new ConfigKey<>(
+            "sel.jup.selenium.server.status.interval", Integer.class);
+    ConfigKey<Integer> seleniumServerEjectionTime = new ConfigKey<>(
+            "sel.jup.selenium.server.ejection.time", Integer.class);
+    ConfigKey<Integer> defaultBrowserHedge = new ConfigKey<>(
+            "sel.jup.default.browser.hedge", Integer.class);
+    ConfigKey<Boolean> defaultBrowserNegativeCache = new ConfigKey<>(
+            "sel.jup.default.browser.negative.cache", Boolean.class);
+    ConfigKey<Boolean> commandTracing = new ConfigKey<>(
+            "sel.jup.command.tracing", Boolean.class);
+    ConfigKey<Integer> commandTracingTop = new ConfigKey<>(
+            "sel.jup.command.tracing.top", Integer.class);
+    ConfigKey<Integer> commandDeadlineSec = new ConfigKey<>(
+            "sel.jup.command.deadline.sec", Integer.class);
+    ConfigKey<Integer> testDeadlineSec = new ConfigKey<>(
+            "sel.jup.test.deadline.sec", Integer.class);
+    ConfigKey<String> dockerBrowserMemory = new ConfigKey<>(
+            "sel.jup.docker.browser.memory", String.class);
+    ConfigKey<String> dockerBrowserCpu = new ConfigKey<>(
+            "sel.jup.docker.browser.cpu", String.class);
+    ConfigKey<String> dockerBrowserShmSize = new ConfigKey<>(
+            "sel.jup.docker.browser.shm.size", String.class);
+    ConfigKey<String> dockerMemory = new ConfigKey<>(
+            "sel.jup.docker.memory", String.class);
+    ConfigKey<String> dockerCpu = new ConfigKey<>(
+            "sel.jup.docker.cpu", String.class);
+    ConfigKey<Integer> dockerPidsLimit = new ConfigKey<>(
+            "sel.jup.docker.pids.limit", Integer.class);
+    ConfigKey<Boolean> vncLazy = new ConfigKey<>(
+            "sel.jup.vnc.lazy", Boolean.class);
+    ConfigKey<String> vncLazyTriggerFile = new ConfigKey<>(
+            "sel.jup.vnc.lazy.trigger.file", String.class);
+    ConfigKey<Boolean> dockerLogsOnFailure = new ConfigKey<>(
+            "sel.jup.docker.logs.on.failure", Boolean.class);
+    ConfigKey<String> dockerLogsBufferSize = new ConfigKey<>(
+            "sel.jup.docker.logs.buffer.size", String.class);
+    ConfigKey<Integer> serverPort = new ConfigKey<>(
+            "sel.jup.server.port", Integer.class);
+    ConfigKey<String> serverBindAddress = new ConfigKey<>(
+            "sel.jup.server.bind.address", String.class);
+    ConfigKey<Integer> serverPoolSize = new ConfigKey<>(
+            "sel.jup.server.pool.size", Integer.class);
+    ConfigKey<String> serverPoolBrowsers = new ConfigKey<>(
+            "sel.jup.server.pool.browsers", String.class);
+    ConfigKey<Integer> benchSessions = new ConfigKey<>(
+            "sel.jup.bench.sessions", Integer.class);
+    ConfigKey<Integer> benchConcurrency = new ConfigKey<>(
+            "sel.jup.bench.concurrency", Integer.class);
     ConfigKey<Boolean> exceptionWhenNoDriver = new ConfigKey<>(
             "sel.jup.exception.when.no.driver", Boolean.class);
     ConfigKey<String> browserTemplateJsonFile = new ConfigKey<>(
@@ -160,10 +234,7 @@ public class Config {
         T tValue = configKey.getValue();
         Class<T> type = configKey.getType();
 
-        strValue = System.getenv(name.toUpperCase().replace(".", "_"));
-        if (strValue == null) {
-            strValue = System.getProperty(name);
-        }
+        strValue = getExternalValue(name);
         if (strValue == null && tValue != null) {
             return tValue;
         }
@@ -173,6 +244,16 @@ public class Config {
         return parse(type, strValue);
     }
 
+    /**
+     * Value of a key set with an environment variable or a Java property
+     * (which take precedence over the rest of the configuration, and are not
+     * counted in its revision), or null if not set.
+     */
+    public String getExternalValue(String name) {
+        String value = System.getenv(name.toUpperCase().replace(".", "_"));
+        return value != null ? value : System.getProperty(name);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T parse(Class<T> type, String strValue) {
         T output = null;
@@ -221,6 +302,14 @@ public class Config {
         }
     }
 
+    /**
+     * Number of changes made in the configuration (using setters or reset)
+     * so far. Used to invalidate values computed from the configuration.
+     */
+    public long getRevision() {
+        return ConfigKey.revision.get();
+    }
+
     // Getters and setters
 
     public String getProperties() {
@@ -272,11 +361,17 @@ public class Config {
     }
 
     public boolean isRecording() {
-        return resolve(recording);
+        String value = resolve(recording);
+        return value.equalsIgnoreCase("true")
+                || value.equalsIgnoreCase("whenfailure");
+    }
+
+    public boolean isRecordingWhenFailure() {
+        return resolve(recording).equalsIgnoreCase("whenfailure");
     }
 
     public void setRecording(boolean value) {
-        this.recording.setValue(value);
+        this.recording.setValue(String.valueOf(value));
     }
 
     public String getRecordingVideoScreenSize() {
@@ -327,6 +422,302 @@ public class Config {
         this.screenshotFormat.setValue(value);
     }
 
+    public int getScreenshotBase64MaxSize() {
+        return resolve(screenshotBase64MaxSize);
+    }
+
+    public void setScreenshotBase64MaxSize(int value) {
+        this.screenshotBase64MaxSize.setValue(value);
+    }
+
+    public boolean isScreenshotDeduplicate() {
+        return resolve(screenshotDeduplicate);
+    }
+
+    public void setScreenshotDeduplicate(boolean value) {
+        this.screenshotDeduplicate.setValue(value);
+    }
+
+    public String getScreenshotBaselineFolder() {
+        return resolve(screenshotBaselineFolder);
+    }
+
+    public void setScreenshotBaselineFolder(String value) {
+        this.screenshotBaselineFolder.setValue(value);
+    }
+
+    public boolean isScreenshotAsync() {
+        return resolve(screenshotAsync);
+    }
+
+    public void setScreenshotAsync(boolean value) {
+        this.screenshotAsync.setValue(value);
+    }
+
+    public int getScreenshotQueueSize() {
+        return resolve(screenshotQueueSize);
+    }
+
+    public void setScreenshotQueueSize(int value) {
+        this.screenshotQueueSize.setValue(value);
+    }
+
+    public String getDriverServiceScope() {
+        return resolve(driverServiceScope);
+    }
+
+    public void setDriverServiceScope(String value) {
+        this.driverServiceScope.setValue(value);
+    }
+
+    public int getAppiumServicePoolSize() {
+        return resolve(appiumServicePoolSize);
+    }
+
+    public void setAppiumServicePoolSize(int value) {
+        this.appiumServicePoolSize.setValue(value);
+    }
+
+    public int getAppiumServicePoolTimeoutSec() {
+        return resolve(appiumServicePoolTimeoutSec);
+    }
+
+    public void setAppiumServicePoolTimeoutSec(int value) {
+        this.appiumServicePoolTimeoutSec.setValue(value);
+    }
+
+    public String getExtensionsCacheFolder() {
+        return resolve(extensionsCacheFolder);
+    }
+
+    public void setExtensionsCacheFolder(String value) {
+        this.extensionsCacheFolder.setValue(value);
+    }
+
+    public boolean isResolveParametersInParallel() {
+        return resolve(resolveParametersInParallel);
+    }
+
+    public void setResolveParametersInParallel(boolean value) {
+        this.resolveParametersInParallel.setValue(value);
+    }
+
+    public int getLookaheadDepth() {
+        return resolve(lookaheadDepth);
+    }
+
+    public void setLookaheadDepth(int value) {
+        this.lookaheadDepth.setValue(value);
+    }
+
+    public int getLookaheadMaxBrowsers() {
+        return resolve(lookaheadMaxBrowsers);
+    }
+
+    public void setLookaheadMaxBrowsers(int value) {
+        this.lookaheadMaxBrowsers.setValue(value);
+    }
+
+    public String getSeleniumServerSelection() {
+        return resolve(seleniumServerSelection);
+    }
+
+    public void setSeleniumServerSelection(String value) {
+        this.seleniumServerSelection.setValue(value);
+    }
+
+    public int getSeleniumServerStatusInterval() {
+        return resolve(seleniumServerStatusInterval);
+    }
+
+    public void setSeleniumServerStatusInterval(int value) {
+        this.seleniumServerStatusInterval.setValue(value);
+    }
+
+    public int getSeleniumServerEjectionTime() {
+        return resolve(seleniumServerEjectionTime);
+    }
+
+    public void setSeleniumServerEjectionTime(int value) {
+        this.seleniumServerEjectionTime.setValue(value);
+    }
+
+    public int getDefaultBrowserHedge() {
+        return resolve(defaultBrowserHedge);
+    }
+
+    public void setDefaultBrowserHedge(int value) {
+        this.defaultBrowserHedge.setValue(value);
+    }
+
+    public boolean isDefaultBrowserNegativeCache() {
+        return resolve(defaultBrowserNegativeCache);
+    }
+
+    public void setDefaultBrowserNegativeCache(boolean value) {
+        this.defaultBrowserNegativeCache.setValue(value);
+    }
+
+    public boolean isCommandTracing() {
+        return resolve(commandTracing);
+    }
+
+    public void setCommandTracing(boolean value) {
+        this.commandTracing.setValue(value);
+    }
+
+    public int getCommandTracingTop() {
+        return resolve(commandTracingTop);
+    }
+
+    public void setCommandTracingTop(int value) {
+        this.commandTracingTop.setValue(value);
+    }
+
+    public int getCommandDeadlineSec() {
+        return resolve(commandDeadlineSec);
+    }
+
+    public void setCommandDeadlineSec(int value) {
+        this.commandDeadlineSec.setValue(value);
+    }
+
+    public int getTestDeadlineSec() {
+        return resolve(testDeadlineSec);
+    }
+
+    public void setTestDeadlineSec(int value) {
+        this.testDeadlineSec.setValue(value);
+    }
+
+    public String getDockerBrowserMemory() {
+        return resolve(dockerBrowserMemory);
+    }
+
+    public void setDockerBrowserMemory(String value) {
+        this.dockerBrowserMemory.setValue(value);
+    }
+
+    public String getDockerBrowserCpu() {
+        return resolve(dockerBrowserCpu);
+    }
+
+    public void setDockerBrowserCpu(String value) {
+        this.dockerBrowserCpu.setValue(value);
+    }
+
+    public String getDockerBrowserShmSize() {
+        return resolve(dockerBrowserShmSize);
+    }
+
+    public void setDockerBrowserShmSize(String value) {
+        this.dockerBrowserShmSize.setValue(value);
+    }
+
+    public String getDockerMemory() {
+        return resolve(dockerMemory);
+    }
+
+    public void setDockerMemory(String value) {
+        this.dockerMemory.setValue(value);
+    }
+
+    public String getDockerCpu() {
+        return resolve(dockerCpu);
+    }
+
+    public void setDockerCpu(String value) {
+        this.dockerCpu.setValue(value);
+    }
+
+    public int getDockerPidsLimit() {
+        return resolve(dockerPidsLimit);
+    }
+
+    public void setDockerPidsLimit(int value) {
+        this.dockerPidsLimit.setValue(value);
+    }
+
+    public boolean isVncLazy() {
+        return resolve(vncLazy);
+    }
+
+    public void setVncLazy(boolean value) {
+        this.vncLazy.setValue(value);
+    }
+
+    public String getVncLazyTriggerFile() {
+        return resolve(vncLazyTriggerFile);
+    }
+
+    public void setVncLazyTriggerFile(String value) {
+        this.vncLazyTriggerFile.setValue(value);
+    }
+
+    public boolean isDockerLogsOnFailure() {
+        return resolve(dockerLogsOnFailure);
+    }
+
+    public void setDockerLogsOnFailure(boolean value) {
+        this.dockerLogsOnFailure.setValue(value);
+    }
+
+    public String getDockerLogsBufferSize() {
+        return resolve(dockerLogsBufferSize);
+    }
+
+    public void setDockerLogsBufferSize(String value) {
+        this.dockerLogsBufferSize.setValue(value);
+    }
+
+    public int getServerPort() {
+        return resolve(serverPort);
+    }
+
+    public void setServerPort(int value) {
+        this.serverPort.setValue(value);
+    }
+
+    public String getServerBindAddress() {
+        return resolve(serverBindAddress);
+    }
+
+    public void setServerBindAddress(String value) {
+        this.serverBindAddress.setValue(value);
+    }
+
+    public int getServerPoolSize() {
+        return resolve(serverPoolSize);
+    }
+
+    public void setServerPoolSize(int value) {
+        this.serverPoolSize.setValue(value);
+    }
+
+    public String getServerPoolBrowsers() {
+        return resolve(serverPoolBrowsers);
+    }
+
+    public void setServerPoolBrowsers(String value) {
+        this.serverPoolBrowsers.setValue(value);
+    }
+
+    public int getBenchSessions() {
+        return resolve(benchSessions);
+    }
+
+    public void setBenchSessions(int value) {
+        this.benchSessions.setValue(value);
+    }
+
+    public int getBenchConcurrency() {
+        return resolve(benchConcurrency);
+    }
+
+    public void setBenchConcurrency(int value) {
+        this.benchConcurrency.setValue(value);
+    }
+
     public boolean isExceptionWhenNoDriver() {
         return resolve(exceptionWhenNoDriver);
     }
@@ -701,6 +1092,10 @@ public class Config {
         this.screenshotAtTheEndOfTests.setValue("false");
     }
 
+    public void enableRecordingWhenFailure() {
+        this.recording.setValue("whenfailure");
+    }
+
     public void takeScreenshotAsBase64() {
         this.screenshotFormat.setValue("base64");
     }
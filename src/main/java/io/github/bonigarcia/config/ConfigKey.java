@@ -16,6 +16,8 @@
  */
 package io.github.bonigarcia.config;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Configuration key class.
  *
@@ -24,6 +26,8 @@ package io.github.bonigarcia.config;
  */
 public class ConfigKey<T> {
 
+    static final AtomicLong revision = new AtomicLong();
+
     String name;
     Class<T> type;
     T value;
@@ -56,11 +60,13 @@ public class ConfigKey<T> {
 
     public void reset() {
         value = defaultValue;
+        revision.incrementAndGet();
     }
 
     @SuppressWarnings("unchecked")
     public void setValue(Object value) {
         this.value = (T) value;
+        revision.incrementAndGet();
     }
 
 }
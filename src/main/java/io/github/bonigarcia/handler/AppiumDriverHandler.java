@@ -25,6 +25,7 @@ import org.openqa.selenium.Capabilities;
 
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.github.bonigarcia.AppiumServicePool;
 import io.github.bonigarcia.SeleniumJupiterException;
 
 /**
@@ -36,6 +37,7 @@ import io.github.bonigarcia.SeleniumJupiterException;
 public class AppiumDriverHandler extends DriverHandler {
 
     private AppiumDriverLocalService appiumDriverLocalService;
+    private AppiumServicePool appiumServicePool;
 
     public AppiumDriverHandler(Parameter parameter, ExtensionContext context) {
         super(parameter, context);
@@ -55,14 +57,26 @@ public class AppiumDriverHandler extends DriverHandler {
                 if (url.isPresent()) {
                     appiumServerUrl = url.get();
                 } else {
-                    appiumDriverLocalService = AppiumDriverLocalService
-                            .buildDefaultService();
-                    appiumDriverLocalService.start();
+                    appiumServicePool = AppiumServicePool.getInstance(context);
+                    if (appiumServicePool != null) {
+                        appiumDriverLocalService = appiumServicePool.acquire();
+                    } else {
+                        appiumDriverLocalService = AppiumDriverLocalService
+                                .buildDefaultService();
+                        appiumDriverLocalService.start();
+                    }
                     appiumServerUrl = appiumDriverLocalService.getUrl();
                 }
 
-                object = new AndroidDriver<>(appiumServerUrl,
-                        capabilities.get());
+                try {
+                    object = new AndroidDriver<>(appiumServerUrl,
+                            capabilities.get());
+                } catch (Exception e) {
+                    // The server is released at once, since the driver was
+                    // not created
+                    cleanup();
+                    throw e;
+                }
             } else {
                 String noCapsMessage = "Was not possible to instantiate AppiumDriver: Capabilites not present";
                 if (throwExceptionWhenNoDriver()) {
@@ -79,7 +93,11 @@ public class AppiumDriverHandler extends DriverHandler {
     @Override
     public void cleanup() {
         if (appiumDriverLocalService != null) {
-            appiumDriverLocalService.stop();
+            if (appiumServicePool != null) {
+                appiumServicePool.release(appiumDriverLocalService);
+            } else {
+                appiumDriverLocalService.stop();
+            }
             appiumDriverLocalService = null;
         }
     }
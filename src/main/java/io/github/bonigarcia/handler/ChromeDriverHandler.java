@@ -30,6 +30,7 @@ import org.openqa.selenium.chrome.ChromeOptions;
 
 import io.github.bonigarcia.Arguments;
 import io.github.bonigarcia.Binary;
+import io.github.bonigarcia.DriverServicePool;
 import io.github.bonigarcia.Extensions;
 import io.github.bonigarcia.Options;
 
@@ -62,7 +63,15 @@ public class ChromeDriverHandler extends DriverHandler {
                 chromeOptions.merge(capabilities.get());
             }
 
-            object = new ChromeDriver(chromeOptions);
+            DriverServicePool driverServicePool = DriverServicePool
+                    .getInstance(context);
+            if (driverServicePool != null) {
+                object = new ChromeDriver(
+                        driverServicePool.getChromeDriverService(),
+                        chromeOptions);
+            } else {
+                object = new ChromeDriver(chromeOptions);
+            }
         } catch (Exception e) {
             handleException(e);
         }
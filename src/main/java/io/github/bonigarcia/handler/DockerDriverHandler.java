@@ -18,19 +18,25 @@ package io.github.bonigarcia.handler;
 
 import static com.spotify.docker.client.messages.PortBinding.randomPort;
 import static io.github.bonigarcia.BrowserType.OPERA;
+import static io.github.bonigarcia.DockerService.parseBytes;
+import static io.github.bonigarcia.DockerService.parseNanoCpus;
 import static io.github.bonigarcia.SeleniumJupiter.config;
+import static io.github.bonigarcia.StartupPhase.SESSION_CREATE;
 import static io.github.bonigarcia.SurefireReports.getOutputFolder;
 import static java.lang.Character.toLowerCase;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.file.Files.deleteIfExists;
 import static java.nio.file.Files.move;
 import static java.nio.file.Files.write;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Arrays.asList;
 import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -46,12 +52,15 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.opera.OperaOptions;
@@ -66,12 +75,18 @@ import com.spotify.docker.client.messages.PortBinding;
 
 import io.github.bonigarcia.AnnotationsReader;
 import io.github.bonigarcia.BrowserType;
+import io.github.bonigarcia.BrowserVersion;
+import io.github.bonigarcia.CommandLatencies;
 import io.github.bonigarcia.DockerBrowser;
 import io.github.bonigarcia.DockerContainer;
 import io.github.bonigarcia.DockerContainer.DockerBuilder;
+import io.github.bonigarcia.DockerScheduler;
 import io.github.bonigarcia.DockerService;
+import io.github.bonigarcia.HubBalancer;
 import io.github.bonigarcia.SeleniumJupiterException;
 import io.github.bonigarcia.SelenoidConfig;
+import io.github.bonigarcia.VersionRange;
+import io.github.bonigarcia.VncTrigger;
 
 /**
  * Resolver for DockerDriver's.
@@ -83,7 +98,10 @@ public class DockerDriverHandler {
 
     final Logger log = getLogger(lookup().lookupClass());
 
+    static Map<String, Capabilities> capabilitiesTemplates = new ConcurrentHashMap<>();
+
     DockerService dockerService;
+    DockerService ownDockerService;
     SelenoidConfig selenoidConfig;
     Map<String, DockerContainer> containerMap;
     File recordingFile;
@@ -97,10 +115,29 @@ public class DockerDriverHandler {
     boolean recording = config().isRecording();
     String selenoidImage = config().getSelenoidImage();
     String novncImage = config().getNovncImage();
+    HubBalancer hubBalancer;
+    DockerScheduler dockerScheduler;
+    DockerService placedDockerService;
+    WebDriver webdriver;
+    String hubUrl;
+    URL vncHubUrl;
+    String vncSessionId;
+    String novncUrl;
+    boolean vncClosed;
+    VncTrigger vncTrigger;
+    Map<String, Long> logPositions = new ConcurrentHashMap<>();
+    Runnable vncViewer = () -> {
+        try {
+            startVncViewer();
+        } catch (Exception e) {
+            throw new SeleniumJupiterException(e);
+        }
+    };
 
     public DockerDriverHandler() throws DockerCertificateException {
         this.selenoidConfig = new SelenoidConfig();
-        this.dockerService = new DockerService();
+        this.ownDockerService = new DockerService();
+        this.dockerService = ownDockerService;
         this.containerMap = new LinkedHashMap<>();
     }
 
@@ -135,6 +172,8 @@ public class DockerDriverHandler {
                 if (version.startsWith("latest-")) {
                     version = selenoidConfig.getVersionFromLabel(browser,
                             version);
+                } else if (VersionRange.isRange(version)) {
+                    version = resolveVersionRange(browser, version);
                 }
                 imageVersion = selenoidConfig.getImageVersion(browser, version);
                 capabilities.setCapability("version", imageVersion);
@@ -147,39 +186,43 @@ public class DockerDriverHandler {
                     && !seleniumServerUrl.isEmpty();
             String hubUrl = seleniumServerUrlAvailable ? seleniumServerUrl
                     : startDockerBrowser(browser, version);
-
-            log.trace("Using Selenium Server at {}", hubUrl);
-            WebDriver webdriver = new RemoteWebDriver(new URL(hubUrl),
-                    capabilities);
+            this.hubUrl = hubUrl;
+
+            hubBalancer = seleniumServerUrlAvailable
+                    ? HubBalancer.getInstance(context)
+                    : null;
+            WebDriver webdriver;
+            long sessionStart = nanoTime();
+            if (hubBalancer != null) {
+                webdriver = hubBalancer.newSession(capabilities);
+            } else {
+                log.trace("Using Selenium Server at {}", hubUrl);
+                webdriver = new RemoteWebDriver(new URL(hubUrl),
+                        capabilities);
+            }
+            this.webdriver = webdriver;
+            CommandLatencies phaseLatencies = dockerService
+                    .getPhaseLatencies();
+            if (phaseLatencies != null) {
+                phaseLatencies.record(SESSION_CREATE.toString(),
+                        nanoTime() - sessionStart);
+            }
 
             SessionId sessionId = ((RemoteWebDriver) webdriver).getSessionId();
             updateName(browser, imageVersion, webdriver);
 
             if (enableVnc && !seleniumServerUrlAvailable) {
-                URL selenoidHubUrl = new URL(hubUrl);
-                String selenoidHost = selenoidHubUrl.getHost();
-                int selenoidPort = selenoidHubUrl.getPort();
-
-                String novncUrl = getNoVncUrl(selenoidHost, selenoidPort,
-                        sessionId.toString(),
-                        config().getSelenoidVncPassword());
+                vncHubUrl = new URL(hubUrl);
+                vncSessionId = sessionId.toString();
                 log.info("Session id {}", sessionId);
-                log.info(
-                        "VNC URL (copy and paste in a browser navigation bar to interact with remote session)");
-                log.info("{}", novncUrl);
-                String vncExport = config().getVncExport();
-                log.trace("Exporting VNC URL as Java property {}", vncExport);
-                System.setProperty(vncExport, novncUrl);
-
-                if (config().isVncRedirectHtmlPage()) {
-                    String outputFolder = getOutputFolder(context);
-                    String vncHtmlPage = format("<!DOCTYPE html>\n" + "<html>\n"
-                            + "<head>\n"
-                            + "<meta http-equiv=\"refresh\" content=\"0; url=%s\">\n"
-                            + "</head>\n" + "<body>\n" + "</body>\n"
-                            + "</html>", novncUrl);
-                    write(Paths.get(outputFolder, name + ".html"),
-                            vncHtmlPage.getBytes());
+                vncTrigger = VncTrigger.getInstance(context);
+                if (vncTrigger != null) {
+                    log.info(
+                            "VNC viewer deferred (create file {} to start it)",
+                            vncTrigger.getTriggerFile().getAbsolutePath());
+                    vncTrigger.add(vncViewer);
+                } else {
+                    startVncViewer();
                 }
             }
 
@@ -217,20 +260,8 @@ public class DockerDriverHandler {
 
     private DesiredCapabilities getCapabilities(BrowserType browser,
             boolean enableVnc) throws IllegalAccessException, IOException {
-        DesiredCapabilities capabilities = browser.getCapabilities();
-        if (enableVnc) {
-            capabilities.setCapability("enableVNC", true);
-            capabilities.setCapability("screenResolution",
-                    config().getVncScreenResolution());
-        }
-
-        if (recording) {
-            capabilities.setCapability("enableVideo", true);
-            capabilities.setCapability("videoScreenSize",
-                    config().getRecordingVideoScreenSize());
-            capabilities.setCapability("videoFrameRate",
-                    config().getRecordingVideoFrameRate());
-        }
+        DesiredCapabilities capabilities = new DesiredCapabilities(
+                getCapabilitiesTemplate(browser, enableVnc));
 
         Optional<Capabilities> optionalCapabilities = annotationsReader != null
                 ? annotationsReader.getCapabilities(parameter, testInstance)
@@ -251,15 +282,64 @@ public class DockerDriverHandler {
         return capabilities;
     }
 
+    private Capabilities getCapabilitiesTemplate(BrowserType browser,
+            boolean enableVnc) {
+        String vncScreenResolution = enableVnc
+                ? config().getVncScreenResolution()
+                : "";
+        String videoScreenSize = recording
+                ? config().getRecordingVideoScreenSize()
+                : "";
+        int videoFrameRate = recording ? config().getRecordingVideoFrameRate()
+                : 0;
+        String key = browser + "|" + enableVnc + "|" + vncScreenResolution
+                + "|" + recording + "|" + videoScreenSize + "|"
+                + videoFrameRate;
+
+        return capabilitiesTemplates.computeIfAbsent(key, k -> {
+            DesiredCapabilities capabilities = new DesiredCapabilities(
+                    browser.getCapabilities());
+            if (enableVnc) {
+                capabilities.setCapability("enableVNC", true);
+                capabilities.setCapability("screenResolution",
+                        vncScreenResolution);
+            }
+            if (recording) {
+                capabilities.setCapability("enableVideo", true);
+                capabilities.setCapability("videoScreenSize",
+                        videoScreenSize);
+                capabilities.setCapability("videoFrameRate", videoFrameRate);
+            }
+            log.trace("Capabilities template for {}: {}", k, capabilities);
+            return new ImmutableCapabilities(capabilities);
+        });
+    }
+
     public String getName() {
         return name;
     }
 
+    /**
+     * URL of the Selenium Server (e.g. Selenoid) in which the browser was
+     * created.
+     */
+    public String getHubUrl() {
+        return hubUrl;
+    }
+
     public void cleanup() {
+        if (hubBalancer != null && webdriver != null) {
+            hubBalancer.release(webdriver);
+        }
+        closeVncViewer();
         try {
-            // Wait for recordings
+            // Wait for recordings (or discard them if not required)
             if (recording) {
-                waitForRecording();
+                if (isRecordingRequired()) {
+                    waitForRecording();
+                } else {
+                    discardRecording();
+                }
             }
             // Clear VNC URL
             String vncExport = config().getVncExport();
@@ -270,6 +350,11 @@ public class DockerDriverHandler {
         } catch (Exception e) {
             log.warn("Exception waiting for recording {}", e.getMessage());
         } finally {
+            if (config().isDockerLogsOnFailure() && context != null
+                    && context.getExecutionException().isPresent()) {
+                writeContainerLogs();
+            }
+
             // Stop containers
             if (containerMap != null && !containerMap.isEmpty()
                     && dockerService != null) {
@@ -280,8 +365,10 @@ public class DockerDriverHandler {
                     CountDownLatch latch = new CountDownLatch(numContainers);
                     for (Map.Entry<String, DockerContainer> entry : containerMap
                             .entrySet()) {
+                        DockerService containerService = getDockerService(
+                                entry.getValue());
                         executorService.submit(() -> {
-                            dockerService.stopAndRemoveContainer(
+                            containerService.stopAndRemoveContainer(
                                     entry.getValue().getContainerId(),
                                     entry.getKey());
                             latch.countDown();
@@ -298,11 +385,45 @@ public class DockerDriverHandler {
                     executorService.shutdown();
                 }
             }
+
+            // Release the placement in the scheduler
+            if (placedDockerService != null) {
+                dockerScheduler.release(placedDockerService);
+                placedDockerService = null;
+            }
         }
     }
 
+    /**
+     * Close the Docker service created by this handler (the services of the
+     * scheduler are closed by the scheduler itself).
+     */
     public void close() {
-        dockerService.close();
+        if (ownDockerService != null) {
+            ownDockerService.close();
+        }
+    }
+
+    private String resolveVersionRange(BrowserType browser, String range) {
+        NavigableMap<BrowserVersion, String> candidates = selenoidConfig
+                .getVersionsInRange(browser, range);
+        if (candidates.isEmpty()) {
+            throw new SeleniumJupiterException(
+                    "There is no version of " + browser + " in " + range);
+        }
+        for (String candidate : candidates.descendingMap().values()) {
+            String image = selenoidConfig.getImageFromVersion(browser,
+                    candidate);
+            if (getSelenoidDockerService().existsImage(image)) {
+                log.debug("Version {} of {} in {} is available locally ({})",
+                        candidate, browser, range, image);
+                return candidate;
+            }
+        }
+        String newestVersion = candidates.lastEntry().getValue();
+        log.debug("No version of {} in {} available locally, using {}",
+                browser, range, newestVersion);
+        return newestVersion;
     }
 
     private String startDockerBrowser(BrowserType browser, String version)
@@ -318,20 +439,40 @@ public class DockerDriverHandler {
             log.info("Using {} version {}", browser, version);
             browserImage = selenoidConfig.getImageFromVersion(browser, version);
         }
-        dockerService.pullImage(browserImage);
 
+        // Browser images are pulled in the daemon in which Selenoid runs
         DockerContainer selenoidContainer = startSelenoidContainer();
+        if (BrowserVersion.isValid(version)) {
+            // Numeric tags are fixed releases, so cached images are reused
+            dockerService.pullImageIfNecessary(browserImage);
+        } else {
+            dockerService.pullImage(browserImage);
+        }
         return selenoidContainer.getContainerUrl();
     }
 
     public DockerContainer startSelenoidContainer()
             throws DockerException, InterruptedException, IOException {
+        // Handlers resolved in parallel share the same containers
+        synchronized (containerMap) {
+            return doStartSelenoidContainer();
+        }
+    }
+
+    private DockerContainer doStartSelenoidContainer()
+            throws DockerException, InterruptedException, IOException {
 
         DockerContainer selenoidContainer;
         if (containerMap.containsKey(selenoidImage)) {
             log.trace("Selenoid container already available");
             selenoidContainer = containerMap.get(selenoidImage);
+            if (selenoidContainer.getDockerService() != null) {
+                dockerService = selenoidContainer.getDockerService();
+            }
+            markLogs(selenoidContainer);
         } else {
+            dockerService = getSelenoidDockerService();
+
             // Pull images
             dockerService.pullImageIfNecessary(selenoidImage);
             String recordingImage = config().getRecordingImage();
@@ -350,7 +491,8 @@ public class DockerDriverHandler {
             // binds
             String defaultSocket = dockerService.getDockerDefaultSocket();
             List<String> binds = new ArrayList<>();
-            binds.add(defaultSocket + ":" + defaultSocket);
+            binds.add(dockerService.getDockerHostSocket() + ":"
+                    + defaultSocket);
             if (recording) {
                 binds.add(getDockerPath(hostVideoFolder)
                         + ":/opt/selenoid/video");
@@ -371,7 +513,10 @@ public class DockerDriverHandler {
                             + " -video-output-dir /opt/selenoid/video/"
                             + " -timeout " + browserTimeout
                             + " -container-network " + network + " -limit "
-                            + getDockerBrowserCount());
+                            + getDockerBrowserCount()
+                            + (config().isDockerLogsOnFailure()
+                                    ? " -capture-driver-logs"
+                                    : ""));
 
             // envs
             List<String> envs = new ArrayList<>();
@@ -388,7 +533,7 @@ public class DockerDriverHandler {
                     .dockerBuilder(selenoidImage).portBindings(portBindings)
                     .binds(binds).cmd(cmd).entryPoint(entryPoint).envs(envs)
                     .network(network);
-            selenoidContainer = dockerBuilder.build();
+            selenoidContainer = withLimits(dockerBuilder).build();
             String containerId = dockerService
                     .startContainer(selenoidContainer);
             String selenoidHost = dockerService.getHost(containerId, network);
@@ -404,6 +549,37 @@ public class DockerDriverHandler {
         return selenoidContainer;
     }
 
+    /**
+     * Docker service in which Selenoid runs (or will run). When there are
+     * several Docker daemons, the test is placed in one of them the first
+     * time, so that the images are looked for where they are used.
+     */
+    private DockerService getSelenoidDockerService() {
+        synchronized (containerMap) {
+            DockerContainer selenoidContainer = containerMap
+                    .get(selenoidImage);
+            if (selenoidContainer != null
+                    && selenoidContainer.getDockerService() != null) {
+                return selenoidContainer.getDockerService();
+            }
+            if (placedDockerService == null) {
+                dockerScheduler = DockerScheduler.getInstance(context);
+                if (dockerScheduler != null) {
+                    dockerService = dockerScheduler.getDockerService();
+                    placedDockerService = dockerService;
+                }
+            }
+            return dockerService;
+        }
+    }
+
+    private DockerBuilder withLimits(DockerBuilder dockerBuilder) {
+        int pidsLimit = config().getDockerPidsLimit();
+        return dockerBuilder.memory(parseBytes(config().getDockerMemory()))
+                .nanoCpus(parseNanoCpus(config().getDockerCpu()))
+                .pidsLimit(pidsLimit > 0 ? pidsLimit : null);
+    }
+
     private int getDockerBrowserCount() {
         int count = 0;
         if (context != null) {
@@ -447,6 +623,46 @@ public class DockerDriverHandler {
 
     }
 
+    /**
+     * Start the noVNC viewer of the session (only once, and not after the
+     * cleanup), returning its URL. The URL is logged, exported as Java
+     * property, and written as redirect HTML page in the output folder (in
+     * lazy VNC mode, the page is always written).
+     */
+    public synchronized String startVncViewer()
+            throws DockerException, InterruptedException, IOException {
+        if (novncUrl != null || vncClosed || vncSessionId == null) {
+            return novncUrl;
+        }
+        novncUrl = getNoVncUrl(vncHubUrl.getHost(), vncHubUrl.getPort(),
+                vncSessionId, config().getSelenoidVncPassword());
+        log.info(
+                "VNC URL (copy and paste in a browser navigation bar to interact with remote session)");
+        log.info("{}", novncUrl);
+        String vncExport = config().getVncExport();
+        log.trace("Exporting VNC URL as Java property {}", vncExport);
+        System.setProperty(vncExport, novncUrl);
+
+        if (config().isVncRedirectHtmlPage() || vncTrigger != null) {
+            String outputFolder = getOutputFolder(context);
+            String vncHtmlPage = format("<!DOCTYPE html>\n" + "<html>\n"
+                    + "<head>\n"
+                    + "<meta http-equiv=\"refresh\" content=\"0; url=%s\">\n"
+                    + "</head>\n" + "<body>\n" + "</body>\n" + "</html>",
+                    novncUrl);
+            write(Paths.get(outputFolder, name + ".html"),
+                    vncHtmlPage.getBytes());
+        }
+        return novncUrl;
+    }
+
+    private synchronized void closeVncViewer() {
+        if (vncTrigger != null) {
+            vncTrigger.remove(vncViewer);
+        }
+        vncClosed = true;
+    }
+
     private String getNoVncUrl(String selenoidHost, int selenoidPort,
             String sessionId, String novncPassword)
             throws DockerException, InterruptedException, IOException {
@@ -461,11 +677,20 @@ public class DockerDriverHandler {
 
     public DockerContainer startNoVncContainer()
             throws DockerException, InterruptedException, IOException {
+        // Handlers resolved in parallel share the same containers
+        synchronized (containerMap) {
+            return doStartNoVncContainer();
+        }
+    }
+
+    private DockerContainer doStartNoVncContainer()
+            throws DockerException, InterruptedException, IOException {
 
         DockerContainer novncContainer;
         if (containerMap.containsKey(novncImage)) {
             log.debug("noVNC container already available");
             novncContainer = containerMap.get(novncImage);
+            markLogs(novncContainer);
 
         } else {
             dockerService.pullImageIfNecessary(novncImage);
@@ -475,8 +700,9 @@ public class DockerDriverHandler {
             portBindings.put(defaultNovncPort, asList(randomPort("0.0.0.0")));
 
             String network = config().getDockerNetwork();
-            novncContainer = DockerContainer.dockerBuilder(novncImage)
-                    .portBindings(portBindings).network(network).build();
+            novncContainer = withLimits(DockerContainer
+                    .dockerBuilder(novncImage).portBindings(portBindings)
+                    .network(network)).build();
             String containerId = dockerService.startContainer(novncContainer);
             String novncHost = dockerService.getHost(containerId, network);
             String novncPort = dockerService.getBindPort(containerId,
@@ -491,6 +717,43 @@ public class DockerDriverHandler {
         return novncContainer;
     }
 
+    private DockerService getDockerService(DockerContainer container) {
+        return container.getDockerService() != null
+                ? container.getDockerService()
+                : dockerService;
+    }
+
+    /**
+     * Record the position of the logs of a container already started, so
+     * that only the logs of this browser are written.
+     */
+    private void markLogs(DockerContainer container) {
+        String containerId = container.getContainerId();
+        logPositions.put(containerId,
+                getDockerService(container).getLogsPosition(containerId));
+    }
+
+    private void writeContainerLogs() {
+        if (containerMap == null) {
+            return;
+        }
+        String outputFolder = getOutputFolder(context);
+        String prefix = name != null ? name
+                : context.getTestMethod().map(Method::getName).orElse("docker");
+        for (Map.Entry<String, DockerContainer> entry : containerMap
+                .entrySet()) {
+            DockerContainer container = entry.getValue();
+            String containerId = container.getContainerId();
+            File logFile = new File(outputFolder, prefix + "_"
+                    + entry.getKey().replaceAll("[^\\w.-]", "_") + ".log");
+            if (getDockerService(container).writeLogs(containerId, logFile,
+                    logPositions.getOrDefault(containerId, 0L))) {
+                log.info("Logs of container {} written to {}",
+                        entry.getKey(), logFile);
+            }
+        }
+    }
+
     private String getDockerPath(File file) {
         String fileString = file.getAbsolutePath();
         if (fileString.contains(":")) { // Windows
@@ -505,34 +768,70 @@ public class DockerDriverHandler {
         return fileString;
     }
 
+    private boolean isRecordingRequired() {
+        return !config().isRecordingWhenFailure() || context == null
+                || context.getExecutionException().isPresent();
+    }
+
     private void waitForRecording() throws IOException {
+        waitForFile(recordingFile);
+
+        log.trace("Renaming {} to {}.mp4", recordingFile, name);
+        move(recordingFile.toPath(),
+                recordingFile.toPath().resolveSibling(name + ".mp4"),
+                REPLACE_EXISTING);
+    }
+
+    private void discardRecording() {
+        File discardedFile = recordingFile;
+        if (discardedFile == null) {
+            return;
+        }
+        log.debug("Test succeeded ... discarding recording {}", discardedFile);
+        ExecutorService executorService = newSingleThreadExecutor();
+        executorService.submit(() -> {
+            if (waitForFile(discardedFile)) {
+                log.trace("Deleting recording {}", discardedFile);
+                try {
+                    deleteIfExists(discardedFile.toPath());
+                } catch (IOException e) {
+                    log.warn("Exception deleting recording {}", discardedFile,
+                            e);
+                }
+            }
+        });
+        executorService.shutdown();
+    }
+
+    private boolean waitForFile(File file) {
         int dockerWaitTimeoutSec = dockerService.getDockerWaitTimeoutSec();
         int dockerPollTimeMs = dockerService.getDockerPollTimeMs();
         long timeoutMs = currentTimeMillis()
                 + SECONDS.toMillis(dockerWaitTimeoutSec);
 
-        log.debug("Waiting for recording {} to be available", recordingFile);
-        while (!recordingFile.exists()) {
+        log.debug("Waiting for recording {} to be available", file);
+        while (!file.exists()) {
             if (currentTimeMillis() > timeoutMs) {
                 log.warn("Timeout of {} seconds waiting for file {}",
-                        dockerWaitTimeoutSec, recordingFile);
-                break;
+                        dockerWaitTimeoutSec, file);
+                return false;
             }
-            log.trace("Recording {} not present ... waiting {} ms",
-                    recordingFile, dockerPollTimeMs);
+            log.trace("Recording {} not present ... waiting {} ms", file,
+                    dockerPollTimeMs);
             try {
                 sleep(dockerPollTimeMs);
             } catch (InterruptedException e) {
                 log.warn("Interrupted Exception while waiting for container",
                         e);
                 currentThread().interrupt();
+                return false;
             }
         }
+        return true;
+    }
 
-        log.trace("Renaming {} to {}.mp4", recordingFile, name);
-        move(recordingFile.toPath(),
-                recordingFile.toPath().resolveSibling(name + ".mp4"),
-                REPLACE_EXISTING);
+    public DockerService getDockerService() {
+        return dockerService;
     }
 
     public Map<String, DockerContainer> getContainerMap() {
@@ -17,14 +17,11 @@
 package io.github.bonigarcia.handler;
 
 import static io.github.bonigarcia.SeleniumJupiter.config;
-import static java.io.File.createTempFile;
 import static java.lang.invoke.MethodHandles.lookup;
-import static org.apache.commons.io.FileUtils.copyInputStreamToFile;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Map;
@@ -38,6 +35,7 @@ import org.slf4j.Logger;
 import io.github.bonigarcia.AnnotationsReader;
 import io.github.bonigarcia.DockerContainer;
 import io.github.bonigarcia.DockerService;
+import io.github.bonigarcia.ExtensionCache;
 import io.github.bonigarcia.SeleniumJupiterException;
 import io.github.bonigarcia.SelenoidConfig;
 
@@ -101,21 +99,7 @@ public abstract class DriverHandler {
     }
 
     File getExtension(String fileName) {
-        File file = new File(fileName);
-        try {
-            if (!file.exists()) {
-                InputStream inputStream = this.getClass()
-                        .getResourceAsStream("/" + file);
-                if (inputStream != null) {
-                    file = createTempFile("tmp-", fileName);
-                    file.deleteOnExit();
-                    copyInputStreamToFile(inputStream, file);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("There was a problem handling extension", e);
-        }
-        return file;
+        return ExtensionCache.getExtension(fileName);
     }
 
     public MutableCapabilities getOptions(Parameter parameter,
@@ -128,6 +112,30 @@ public abstract class DriverHandler {
         // Nothing by default
     }
 
+    /**
+     * Kill the Docker containers of the browser (if any) without waiting for
+     * it, returning true if some container has been killed.
+     */
+    public boolean kill() {
+        boolean killed = false;
+        if (containerMap != null) {
+            for (DockerContainer container : containerMap.values()) {
+                DockerService containerService = container
+                        .getDockerService() != null
+                                ? container.getDockerService()
+                                : dockerService;
+                if (containerService != null
+                        && container.getContainerId() != null) {
+                    containerService.killContainer(
+                            container.getContainerId(),
+                            container.getImageId());
+                    killed = true;
+                }
+            }
+        }
+        return killed;
+    }
+
     public void setContainerMap(Map<String, DockerContainer> containerMap) {
         this.containerMap = containerMap;
     }
@@ -20,9 +20,14 @@ import static java.lang.Boolean.valueOf;
 import static java.lang.Integer.parseInt;
 import static java.util.Arrays.stream;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -30,11 +35,12 @@ import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.firefox.FirefoxProfile;
 
 import io.github.bonigarcia.Arguments;
 import io.github.bonigarcia.Binary;
+import io.github.bonigarcia.DriverServicePool;
 import io.github.bonigarcia.Extensions;
+import io.github.bonigarcia.FirefoxProfileCache;
 import io.github.bonigarcia.Options;
 import io.github.bonigarcia.Preferences;
 
@@ -65,7 +71,15 @@ public class FirefoxDriverHandler extends DriverHandler {
             if (capabilities.isPresent()) {
                 firefoxOptions.merge(capabilities.get());
             }
-            object = new FirefoxDriver(firefoxOptions);
+            DriverServicePool driverServicePool = DriverServicePool
+                    .getInstance(context);
+            if (driverServicePool != null) {
+                object = new FirefoxDriver(
+                        driverServicePool.getGeckoDriverService(),
+                        firefoxOptions);
+            } else {
+                object = new FirefoxDriver(firefoxOptions);
+            }
         } catch (Exception e) {
             handleException(e);
         }
@@ -84,14 +98,29 @@ public class FirefoxDriverHandler extends DriverHandler {
                 stream(arguments.value()).forEach(firefoxOptions::addArguments);
             }
 
+            // @Preferences
+            Map<String, Object> preferences = getPreferences(parameter);
+            for (Entry<String, Object> preference : preferences.entrySet()) {
+                String name = preference.getKey();
+                Object value = preference.getValue();
+                if (value instanceof Boolean) {
+                    firefoxOptions.addPreference(name, (Boolean) value);
+                } else if (value instanceof Integer) {
+                    firefoxOptions.addPreference(name, (Integer) value);
+                } else {
+                    firefoxOptions.addPreference(name, (String) value);
+                }
+            }
+
             // @Extensions
             Extensions extensions = parameter.getAnnotation(Extensions.class);
             if (extensions != null) {
+                List<File> extensionFiles = new ArrayList<>();
                 for (String extension : extensions.value()) {
-                    FirefoxProfile firefoxProfile = new FirefoxProfile();
-                    firefoxProfile.addExtension(getExtension(extension));
-                    firefoxOptions.setProfile(firefoxProfile);
+                    extensionFiles.add(getExtension(extension));
                 }
+                firefoxOptions.setProfile(FirefoxProfileCache
+                        .getProfile(extensionFiles, preferences));
             }
 
             // @Binary
@@ -100,9 +129,6 @@ public class FirefoxDriverHandler extends DriverHandler {
                 firefoxOptions.setBinary(binary.value());
             }
 
-            // @Preferences
-            managePreferences(parameter, firefoxOptions);
-
             // @Options
             Object optionsFromAnnotatedField = annotationsReader
                     .getOptionsFromAnnotatedField(testInstance, Options.class);
@@ -115,11 +141,11 @@ public class FirefoxDriverHandler extends DriverHandler {
         return firefoxOptions;
     }
 
-    private void managePreferences(Parameter parameter,
-            FirefoxOptions firefoxOptions) {
-        Preferences preferences = parameter.getAnnotation(Preferences.class);
-        if (preferences != null) {
-            for (String preference : preferences.value()) {
+    private Map<String, Object> getPreferences(Parameter parameter) {
+        Map<String, Object> preferences = new LinkedHashMap<>();
+        Preferences annotation = parameter.getAnnotation(Preferences.class);
+        if (annotation != null) {
+            for (String preference : annotation.value()) {
                 Optional<List<String>> keyValue = annotationsReader
                         .getKeyValue(preference);
                 if (!keyValue.isPresent()) {
@@ -128,14 +154,15 @@ public class FirefoxDriverHandler extends DriverHandler {
                 String name = keyValue.get().get(0);
                 String value = keyValue.get().get(1);
                 if (annotationsReader.isBoolean(value)) {
-                    firefoxOptions.addPreference(name, valueOf(value));
+                    preferences.put(name, valueOf(value));
                 } else if (annotationsReader.isNumeric(value)) {
-                    firefoxOptions.addPreference(name, parseInt(value));
+                    preferences.put(name, parseInt(value));
                 } else {
-                    firefoxOptions.addPreference(name, value);
+                    preferences.put(name, value);
                 }
             }
         }
+        return preferences;
     }
 
 }
@@ -17,17 +17,30 @@
 package io.github.bonigarcia.handler;
 
 import static io.github.bonigarcia.SeleniumJupiter.config;
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 
 import java.lang.reflect.Parameter;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
@@ -35,8 +48,10 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 
 import io.github.bonigarcia.BrowsersTemplate.Browser;
 import io.github.bonigarcia.DockerBrowser;
+import io.github.bonigarcia.HubBalancer;
 import io.github.bonigarcia.SeleniumExtension;
 import io.github.bonigarcia.SeleniumJupiterException;
+import io.github.bonigarcia.SessionWatchdog;
 
 /**
  * Resolver for RemoteWebDriver.
@@ -46,10 +61,15 @@ import io.github.bonigarcia.SeleniumJupiterException;
  */
 public class RemoteDriverHandler extends DriverHandler {
 
+    static final Namespace NAMESPACE = Namespace
+            .create(RemoteDriverHandler.class);
+
     private DockerDriverHandler dockerDriverHandler;
     private Browser browser;
     private SeleniumExtension parent;
     private ParameterContext parameterContext;
+    private HubBalancer hubBalancer;
+    private List<DriverHandler> candidateHandlers = emptyList();
 
     public RemoteDriverHandler(Parameter parameter, ExtensionContext context) {
         super(parameter, context);
@@ -100,12 +120,18 @@ public class RemoteDriverHandler extends DriverHandler {
     public String getName() {
         if (dockerDriverHandler != null) {
             return dockerDriverHandler.getName();
+        } else if (!candidateHandlers.isEmpty()) {
+            return candidateHandlers.get(0).getName();
         } else {
             return super.getName();
         }
     }
 
     private WebDriver resolveRemote(URL url, Capabilities capabilities) {
+        hubBalancer = HubBalancer.getInstance(context);
+        if (hubBalancer != null) {
+            return hubBalancer.newSession(capabilities);
+        }
         return new RemoteWebDriver(url, capabilities);
     }
 
@@ -133,37 +159,212 @@ public class RemoteDriverHandler extends DriverHandler {
         assert browserCandidates.size() == versionCandidates
                 .size() : "Number of browser and versions for fallback does not match";
 
-        Iterator<String> browserIterator = browserCandidates.iterator();
+        // Candidates which failed before in this execution are skipped
+        Set<String> failedCandidates = getFailedCandidates();
+        List<Browser> candidates = new ArrayList<>();
         Iterator<String> versionIterator = versionCandidates.iterator();
+        for (String browserCandidate : browserCandidates) {
+            Browser candidate = new Browser(browserCandidate,
+                    versionIterator.next());
+            if (failedCandidates.contains(candidate.toString())) {
+                log.debug("Skipping {}, since it failed before", candidate);
+            } else {
+                candidates.add(candidate);
+            }
+        }
+
+        int hedge = config().getDefaultBrowserHedge();
+        if (hedge > 1) {
+            return resolveHedged(candidates, hedge);
+        }
 
+        Iterator<Browser> candidateIterator = candidates.iterator();
         do {
-            if (!browserIterator.hasNext()) {
+            if (!candidateIterator.hasNext()) {
                 throw new SeleniumJupiterException(
                         "Browser candidate not found");
             }
-            String browserCandidate = browserIterator.next();
-            String versionCandidate = versionIterator.next();
-
-            Browser candidate = new Browser(browserCandidate, versionCandidate);
+            Browser candidate = candidateIterator.next();
             log.debug("Using generic handler, trying with {}",
-                    browserCandidate);
+                    candidate.getType());
             parent.setBrowserList(singletonList(candidate));
             try {
                 object = parent.resolveParameter(parameterContext, context);
             } catch (Exception e) {
-                log.debug("There was an error with {} {}", browserCandidate,
-                        e.getMessage());
+                log.debug("There was an error with {} {}",
+                        candidate.getType(), e.getMessage());
                 object = null;
             }
+            if (object == null) {
+                failedCandidates.add(candidate.toString());
+            }
         } while (object == null);
         return (WebDriver) object;
     }
 
+    private WebDriver resolveHedged(List<Browser> candidates, int hedge) {
+        // The first candidates are resolved concurrently, starting a new one
+        // each time a candidate fails. The first browser available is used,
+        // and the rest are closed when ready
+        Set<String> failedCandidates = getFailedCandidates();
+        ExecutorService executorService = newFixedThreadPool(hedge);
+        CompletionService<CandidateResult> completionService = new ExecutorCompletionService<>(
+                executorService);
+        Iterator<Browser> candidateIterator = candidates.iterator();
+        List<Future<CandidateResult>> attempts = new ArrayList<>();
+        int pending = 0;
+        try {
+            while (candidateIterator.hasNext() && pending < hedge) {
+                attempts.add(submitCandidate(completionService,
+                        candidateIterator.next()));
+                pending++;
+            }
+            while (pending > 0) {
+                CandidateResult result = completionService.take().get();
+                pending--;
+                if (result.object != null) {
+                    log.debug("Using {} in generic handler",
+                            result.candidate);
+                    candidateHandlers = result.handlers;
+                    discardAttempts(executorService, attempts, result);
+                    return (WebDriver) result.object;
+                }
+                failedCandidates.add(result.candidate.toString());
+                result.cleanup();
+                if (candidateIterator.hasNext()) {
+                    attempts.add(submitCandidate(completionService,
+                            candidateIterator.next()));
+                    pending++;
+                }
+            }
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+            discardAttempts(executorService, attempts, null);
+        } catch (ExecutionException e) {
+            // Candidates handle their own exceptions
+            throw new SeleniumJupiterException(e.getCause());
+        } finally {
+            executorService.shutdown();
+        }
+        throw new SeleniumJupiterException("Browser candidate not found");
+    }
+
+    private Future<CandidateResult> submitCandidate(
+            CompletionService<CandidateResult> completionService,
+            Browser candidate) {
+        log.debug("Using generic handler, trying with {}", candidate);
+        return completionService.submit(() -> {
+            CandidateResult result = new CandidateResult(candidate);
+            try {
+                result.object = parent.resolveParameter(parameterContext,
+                        context, candidate, result.handlers);
+            } catch (Exception e) {
+                log.debug("There was an error with {} {}", candidate,
+                        e.getMessage());
+            }
+            return result;
+        });
+    }
+
+    private void discardAttempts(ExecutorService executorService,
+            List<Future<CandidateResult>> attempts, CandidateResult winner) {
+        // Attempts are not cancelled, since a running attempt can be
+        // cancelled and then its browser would be lost. Instead, they are
+        // closed when ready in the hedge executor (which runs these tasks
+        // after shutdown)
+        for (Future<CandidateResult> attempt : attempts) {
+            executorService.submit(() -> {
+                try {
+                    CandidateResult result = attempt.get();
+                    if (result != winner) {
+                        result.close();
+                    }
+                } catch (Exception e) {
+                    log.trace("Exception discarding candidate {}",
+                            e.getMessage());
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getFailedCandidates() {
+        if (!config().isDefaultBrowserNegativeCache()) {
+            return new HashSet<>();
+        }
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                "failedCandidates", key -> ConcurrentHashMap.newKeySet(),
+                Set.class);
+    }
+
+    class CandidateResult {
+        final Browser candidate;
+        final List<DriverHandler> handlers = new CopyOnWriteArrayList<>();
+        Object object;
+        boolean cleaned;
+
+        CandidateResult(Browser candidate) {
+            this.candidate = candidate;
+        }
+
+        void close() {
+            if (object instanceof WebDriver) {
+                try {
+                    ((WebDriver) object).quit();
+                } catch (Exception e) {
+                    log.trace("Exception closing {} {}", candidate,
+                            e.getMessage());
+                }
+            }
+            cleanup();
+        }
+
+        synchronized void cleanup() {
+            if (cleaned) {
+                return;
+            }
+            cleaned = true;
+            for (DriverHandler handler : handlers) {
+                try {
+                    handler.cleanup();
+                } catch (Exception e) {
+                    log.trace("Exception cleaning {} {}", candidate,
+                            e.getMessage());
+                }
+            }
+            unwatch(handlers);
+        }
+    }
+
     @Override
     public void cleanup() {
         if (dockerDriverHandler != null) {
             dockerDriverHandler.cleanup();
         }
+        for (DriverHandler candidateHandler : candidateHandlers) {
+            candidateHandler.cleanup();
+        }
+        unwatch(candidateHandlers);
+        if (hubBalancer != null && object instanceof WebDriver) {
+            hubBalancer.release((WebDriver) object);
+        }
+    }
+
+    private void unwatch(List<DriverHandler> handlers) {
+        // Nested handlers are watched too, sharing the browser of this one
+        SessionWatchdog sessionWatchdog = SessionWatchdog.getInstance(context);
+        if (sessionWatchdog != null) {
+            handlers.forEach(sessionWatchdog::unwatch);
+        }
+    }
+
+    @Override
+    public boolean kill() {
+        boolean killed = super.kill();
+        for (DriverHandler candidateHandler : candidateHandlers) {
+            killed |= candidateHandler.kill();
+        }
+        return killed;
     }
 
     public void setParent(SeleniumExtension parent) {
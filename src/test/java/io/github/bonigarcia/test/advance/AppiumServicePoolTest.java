@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.advance;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.github.bonigarcia.AppiumServicePool;
+import io.github.bonigarcia.SeleniumJupiterException;
+
+/**
+ * Test the pool of Appium servers, with fake servers which are never
+ * started.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class AppiumServicePoolTest {
+
+    AtomicInteger createdServices = new AtomicInteger();
+    AtomicInteger failingServices = new AtomicInteger();
+    ExecutorService executorService = newSingleThreadExecutor();
+
+    AppiumServicePool appiumServicePool = new AppiumServicePool(1, 1) {
+        @Override
+        protected AppiumDriverLocalService createService() {
+            if (failingServices.getAndDecrement() > 0) {
+                throw new SeleniumJupiterException("Appium not available");
+            }
+            createdServices.incrementAndGet();
+            return newFakeService();
+        }
+
+        @Override
+        protected boolean isHealthy(AppiumDriverLocalService service) {
+            return true;
+        }
+    };
+
+    @AfterEach
+    void teardown() {
+        executorService.shutdownNow();
+        appiumServicePool.close();
+    }
+
+    @Test
+    void testTimeoutWhenExhausted() throws Exception {
+        appiumServicePool.acquire();
+        long start = System.currentTimeMillis();
+        assertThrows(SeleniumJupiterException.class,
+                appiumServicePool::acquire);
+        assertThat(System.currentTimeMillis() - start >= 1000, equalTo(true));
+        assertThat(appiumServicePool.getServerCount(), equalTo(1));
+    }
+
+    @Test
+    void testReleaseWakesWaitingTest() throws Exception {
+        AppiumDriverLocalService service = appiumServicePool.acquire();
+        Future<AppiumDriverLocalService> waiting = executorService
+                .submit(appiumServicePool::acquire);
+        appiumServicePool.release(service);
+        assertThat(waiting.get(5, SECONDS), sameInstance(service));
+        assertThat(createdServices.get(), equalTo(1));
+    }
+
+    @Test
+    void testFailedStartFreesSlot() throws Exception {
+        failingServices.set(1);
+        assertThrows(SeleniumJupiterException.class,
+                appiumServicePool::acquire);
+        appiumServicePool.acquire();
+        assertThat(appiumServicePool.getServerCount(), equalTo(1));
+    }
+
+    private AppiumDriverLocalService newFakeService() {
+        try {
+            // Package-private constructor, which does not start any process
+            Constructor<AppiumDriverLocalService> constructor;
+            constructor = AppiumDriverLocalService.class
+                    .getDeclaredConstructor(String.class, File.class,
+                            int.class, ImmutableList.class,
+                            ImmutableMap.class, long.class, TimeUnit.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance("127.0.0.1", new File("node"),
+                    4723, ImmutableList.of(), ImmutableMap.of(), 1L, SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
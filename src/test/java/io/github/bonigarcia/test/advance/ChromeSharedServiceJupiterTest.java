@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.advance;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+
+import io.github.bonigarcia.SeleniumExtension;
+import io.github.bonigarcia.SeleniumJupiter;
+
+@ExtendWith(SeleniumExtension.class)
+@TestInstance(PER_CLASS)
+public class ChromeSharedServiceJupiterTest {
+
+    Set<URL> serviceUrls = new HashSet<>();
+
+    @BeforeAll
+    void setup() {
+        SeleniumJupiter.config().setDriverServiceScope("jvm");
+    }
+
+    @AfterAll
+    void teardown() {
+        SeleniumJupiter.config().reset();
+        assertThat(serviceUrls.size(), equalTo(1));
+    }
+
+    @Test
+    void test1(ChromeDriver driver) {
+        exercise(driver);
+    }
+
+    @Test
+    void test2(ChromeDriver driver) {
+        exercise(driver);
+    }
+
+    private void exercise(ChromeDriver driver) {
+        driver.get("https://bonigarcia.github.io/selenium-jupiter/");
+        assertThat(driver.getTitle(),
+                containsString("JUnit 5 extension for Selenium"));
+        serviceUrls.add(((HttpCommandExecutor) driver.getCommandExecutor())
+                .getAddressOfRemoteServer());
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.advance;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import io.github.bonigarcia.CommandLatencies;
+import io.github.bonigarcia.CommandTracer;
+import io.github.bonigarcia.CommandTracer.SlowCommand;
+import io.github.bonigarcia.LatencyHistogram;
+
+public class CommandTracerTest {
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(MILLISECONDS.toNanos(i));
+        }
+        assertThat(histogram.getCount(), equalTo(100L));
+        assertThat(histogram.getMaxMicros(), equalTo(100_000L));
+        assertThat(histogram.getPercentileMicros(50),
+                allOf(greaterThanOrEqualTo(50_000L),
+                        lessThanOrEqualTo(53_000L)));
+        assertThat(histogram.getPercentileMicros(99),
+                allOf(greaterThanOrEqualTo(99_000L),
+                        lessThanOrEqualTo(100_000L)));
+    }
+
+    @Test
+    void testCommandTracing() {
+        CommandExecutor commandExecutor = command -> {
+            Response response = new Response();
+            response.setSessionId("session");
+            response.setValue(command.getName().equals("newSession")
+                    ? new HashMap<>()
+                    : null);
+            response.setStatus(0);
+            return response;
+        };
+        RemoteWebDriver driver = new RemoteWebDriver(commandExecutor,
+                new DesiredCapabilities());
+        CommandLatencies testLatencies = new CommandLatencies("test");
+        CommandTracer commandTracer = new CommandTracer(2);
+        commandTracer.trace(driver, () -> testLatencies);
+        commandTracer.trace(driver, () -> testLatencies);
+        assertThat(driver.getCommandExecutor(),
+                not(instanceOf(commandExecutor.getClass())));
+
+        driver.get("about:blank");
+        driver.get("about:blank");
+        driver.getTitle();
+
+        assertThat(testLatencies.getHistograms().get("get").getCount(),
+                equalTo(2L));
+        assertThat(commandTracer.getLatencies().getHistograms()
+                .get("getTitle").getCount(), equalTo(1L));
+        List<SlowCommand> slowestCommands = commandTracer
+                .getSlowestCommands();
+        assertThat(slowestCommands.size(), equalTo(2));
+        assertThat(slowestCommands.get(0).getTest(), equalTo("test"));
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.advance;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.Collections.emptyMap;
+import static java.util.Optional.empty;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openqa.selenium.firefox.FirefoxOptions.FIREFOX_OPTIONS;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Parameter;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import com.google.common.collect.ImmutableList;
+
+import io.github.bonigarcia.ExtensionCache;
+import io.github.bonigarcia.Extensions;
+import io.github.bonigarcia.FirefoxProfileCache;
+import io.github.bonigarcia.Preferences;
+import io.github.bonigarcia.SeleniumJupiter;
+import io.github.bonigarcia.handler.FirefoxDriverHandler;
+
+public class ExtensionCacheTest {
+
+    Path cacheFolder;
+
+    @BeforeEach
+    void setup() throws IOException {
+        cacheFolder = createTempDirectory("extensions-");
+        SeleniumJupiter.config()
+                .setExtensionsCacheFolder(cacheFolder.toString());
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        SeleniumJupiter.config().reset();
+        deleteDirectory(cacheFolder.toFile());
+    }
+
+    @Test
+    void testExtensionFromClasspath() {
+        File extension = ExtensionCache.getExtension("hello_world.crx");
+        assertTrue(extension.exists());
+        assertThat(extension.getName(), equalTo("hello_world.crx"));
+        assertThat(ExtensionCache.getExtension("hello_world.crx"),
+                equalTo(extension));
+    }
+
+    @Test
+    void testFirefoxProfile() throws IOException {
+        File extension = ExtensionCache.getExtension("hello_world.xpi");
+        FirefoxProfile firefoxProfile = FirefoxProfileCache
+                .getProfile(ImmutableList.of(extension), emptyMap());
+        FirefoxProfile otherProfile = FirefoxProfileCache
+                .getProfile(ImmutableList.of(extension), emptyMap());
+        assertThat(otherProfile, not(sameInstance(firefoxProfile)));
+        assertThat(otherProfile.toJson(),
+                sameInstance(firefoxProfile.toJson()));
+    }
+
+    @Test
+    void testFirefoxProfileSerializedOnce() throws IOException {
+        File extension = ExtensionCache.getExtension("hello_world.xpi");
+        FirefoxProfile firefoxProfile = FirefoxProfileCache
+                .getProfile(ImmutableList.of(extension), emptyMap());
+        String json = firefoxProfile.toJson();
+        assertThat(firefoxProfile.toJson(), sameInstance(json));
+
+        // Changes are not shared with other profiles
+        FirefoxProfile changedProfile = FirefoxProfileCache
+                .getProfile(ImmutableList.of(extension), emptyMap());
+        changedProfile.setAcceptUntrustedCertificates(false);
+        assertThat(changedProfile.toJson(), not(equalTo(json)));
+        assertThat(FirefoxProfileCache
+                .getProfile(ImmutableList.of(extension), emptyMap()).toJson(),
+                sameInstance(json));
+    }
+
+    @Test
+    void testFirefoxProfileWithPreferences() throws Exception {
+        Parameter parameter = getClass()
+                .getDeclaredMethod("withPreferences", FirefoxDriver.class)
+                .getParameters()[0];
+        FirefoxDriverHandler handler = new FirefoxDriverHandler();
+        FirefoxOptions firefoxOptions = (FirefoxOptions) handler
+                .getOptions(parameter, empty());
+        FirefoxOptions otherOptions = (FirefoxOptions) handler
+                .getOptions(parameter, empty());
+
+        // The preferences copied into the profile do not change it
+        String profile = getProfile(firefoxOptions);
+        assertThat(getProfile(firefoxOptions), sameInstance(profile));
+        assertThat(getProfile(otherOptions), sameInstance(profile));
+    }
+
+    void withPreferences(@Extensions("hello_world.xpi") @Preferences({
+            "media.navigator.streams.fake=true",
+            "browser.startup.page=0" }) FirefoxDriver driver) {
+        // Method used to get a parameter
+    }
+
+    @SuppressWarnings("unchecked")
+    private String getProfile(FirefoxOptions firefoxOptions) {
+        Map<String, Object> options = (Map<String, Object>) firefoxOptions
+                .asMap().get(FIREFOX_OPTIONS);
+        return (String) options.get("profile");
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.advance;
+
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.openqa.selenium.WebDriver;
+
+import io.github.bonigarcia.BrowsersTemplate.Browser;
+import io.github.bonigarcia.SeleniumExtension;
+import io.github.bonigarcia.SeleniumJupiter;
+import io.github.bonigarcia.handler.DriverHandler;
+import io.github.bonigarcia.handler.RemoteDriverHandler;
+
+/**
+ * Test hedged generic browsers, with candidates which fail or succeed after
+ * given delays.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class HedgedCandidatesTest {
+
+    Set<String> failedCandidates = ConcurrentHashMap.newKeySet();
+    Map<String, WebDriver> drivers = new ConcurrentHashMap<>();
+    Map<String, AtomicInteger> cleanups = new ConcurrentHashMap<>();
+    Set<String> resolved = ConcurrentHashMap.newKeySet();
+    AtomicInteger inProgress = new AtomicInteger();
+    AtomicInteger maxInProgress = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        SeleniumJupiter.config().setDefaultBrowserHedge(2);
+        SeleniumJupiter.config().setDefaultBrowser("chrome");
+        SeleniumJupiter.config().setDefaultVersion("1");
+        SeleniumJupiter.config()
+                .setDefaultBrowserFallback("firefox,opera,edge");
+        SeleniumJupiter.config().setDefaultBrowserFallbackVersion("1,1,1");
+    }
+
+    @AfterEach
+    void teardown() {
+        SeleniumJupiter.config().reset();
+    }
+
+    @Test
+    void testHedgedCandidates() throws Exception {
+        // Firefox failed before, and so it is skipped
+        failedCandidates.add(new Browser("firefox", "1").toString());
+
+        RemoteDriverHandler handler = new RemoteDriverHandler(getParameter(),
+                getContext());
+        handler.setParent(new StubExtension());
+        handler.setParameterContext(mock(ParameterContext.class));
+        handler.resolve();
+
+        // Chrome fails first, and then Edge is faster than Opera
+        assertThat(handler.getObject(), sameInstance(drivers.get("edge")));
+        assertThat(maxInProgress.get(), equalTo(2));
+        assertThat(resolved, not(hasItem("firefox")));
+        assertThat(failedCandidates,
+                hasItem(new Browser("chrome", "1").toString()));
+        assertThat(cleanups.get("chrome").get(), equalTo(1));
+
+        // Opera is closed when ready
+        await().atMost(5, SECONDS).until(() -> drivers.containsKey("opera"));
+        verify(drivers.get("opera"), timeout(5000)).quit();
+        await().atMost(5, SECONDS)
+                .until(() -> cleanups.get("opera").get() == 1);
+        verify(drivers.get("edge"), never()).quit();
+        assertThat(cleanups.get("edge").get(), equalTo(0));
+
+        handler.cleanup();
+        assertThat(cleanups.get("edge").get(), equalTo(1));
+    }
+
+    void hedged(WebDriver driver) {
+        // Method used to get a parameter
+    }
+
+    private Parameter getParameter() throws NoSuchMethodException {
+        return getClass().getDeclaredMethod("hedged", WebDriver.class)
+                .getParameters()[0];
+    }
+
+    private ExtensionContext getContext() {
+        ExtensionContext context = mock(ExtensionContext.class);
+        Store store = mock(Store.class);
+        when(context.getRoot()).thenReturn(context);
+        when(context.getStore(any())).thenReturn(store);
+        when(context.getTestInstance()).thenReturn(empty());
+        when(store.getOrComputeIfAbsent(eq("failedCandidates"), any(),
+                eq(Set.class))).thenReturn(failedCandidates);
+        return context;
+    }
+
+    private class StubExtension extends SeleniumExtension {
+
+        @Override
+        public Object resolveParameter(ParameterContext parameterContext,
+                ExtensionContext extensionContext, Browser browser,
+                List<DriverHandler> handlerList) {
+            String type = browser.getType();
+            resolved.add(type);
+            int current = inProgress.incrementAndGet();
+            maxInProgress.accumulateAndGet(current, Math::max);
+            try {
+                AtomicInteger cleanup = new AtomicInteger();
+                cleanups.put(type, cleanup);
+                handlerList.add(new DriverHandler() {
+                    @Override
+                    public void resolve() {
+                        // Already resolved
+                    }
+
+                    @Override
+                    public void cleanup() {
+                        cleanup.incrementAndGet();
+                    }
+                });
+                switch (type) {
+                case "chrome":
+                    Thread.sleep(200);
+                    throw new IllegalStateException("Chrome not available");
+                case "opera":
+                    Thread.sleep(1000);
+                    break;
+                default:
+                    Thread.sleep(100);
+                    break;
+                }
+                WebDriver driver = mock(WebDriver.class);
+                drivers.put(type, driver);
+                return driver;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                inProgress.decrementAndGet();
+            }
+        }
+    }
+
+}
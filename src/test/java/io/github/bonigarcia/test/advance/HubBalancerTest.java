@@ -0,0 +1,149 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.advance;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.bonigarcia.HubBalancer;
+import io.github.bonigarcia.HubBalancer.Hub;
+import io.github.bonigarcia.SeleniumJupiter;
+
+public class HubBalancerTest {
+
+    HttpServer hub1;
+    HttpServer hub2;
+    AtomicInteger sessionCount = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws IOException {
+        SeleniumJupiter.config().setSeleniumServerStatusInterval(0);
+        hub1 = startHub("{\"value\": {\"ready\": true}}");
+        hub2 = startHub("{\"value\": {\"ready\": true}}");
+    }
+
+    @AfterEach
+    void teardown() {
+        SeleniumJupiter.config().reset();
+        hub1.stop(0);
+        hub2.stop(0);
+    }
+
+    @Test
+    void testLeastSessions() throws IOException {
+        HubBalancer hubBalancer = new HubBalancer(
+                asList(getUrl(hub1), getUrl(hub2)), "least-sessions");
+        for (int i = 0; i < 4; i++) {
+            hubBalancer.newSession(new DesiredCapabilities());
+        }
+        List<Hub> hubs = hubBalancer.getHubs();
+        assertThat(hubs.get(0).getOutstandingSessions(), equalTo(2));
+        assertThat(hubs.get(1).getOutstandingSessions(), equalTo(2));
+    }
+
+    @Test
+    void testRelease() throws IOException {
+        HubBalancer hubBalancer = new HubBalancer(
+                asList(getUrl(hub1), getUrl(hub2)), "power-of-two");
+        WebDriver driver = hubBalancer.newSession(new DesiredCapabilities());
+        hubBalancer.release(driver);
+        hubBalancer.release(driver);
+        for (Hub hub : hubBalancer.getHubs()) {
+            assertThat(hub.getOutstandingSessions(), equalTo(0));
+        }
+    }
+
+    @Test
+    void testWithoutContext() throws IOException {
+        // Command line interface (no extension context)
+        SeleniumJupiter.config().setSeleniumServerUrl(
+                getUrl(hub1) + "," + getUrl(hub2));
+        HubBalancer hubBalancer = HubBalancer.getInstance(null);
+        assertThat(hubBalancer, notNullValue());
+        assertThat(HubBalancer.getInstance(null), sameInstance(hubBalancer));
+    }
+
+    @Test
+    void testUnhealthyHubEjected() throws IOException {
+        HttpServer unhealthyHub = startHub("{\"value\": {\"ready\": false}}");
+        HttpServer fullHub = startHub("{\"total\": 2, \"used\": 2}");
+        try {
+            HubBalancer hubBalancer = new HubBalancer(asList(
+                    getUrl(unhealthyHub), getUrl(fullHub), getUrl(hub1)),
+                    "least-sessions");
+            for (int i = 0; i < 3; i++) {
+                hubBalancer.newSession(new DesiredCapabilities());
+            }
+            List<Hub> hubs = hubBalancer.getHubs();
+            assertThat(hubs.get(0).getCreatedSessions(), equalTo(0));
+            assertThat(hubs.get(1).getCreatedSessions(), equalTo(0));
+            assertThat(hubs.get(2).getCreatedSessions(), equalTo(3));
+        } finally {
+            unhealthyHub.stop(0);
+            fullHub.stop(0);
+        }
+    }
+
+    private HttpServer startHub(String status) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/wd/hub/status",
+                exchange -> respond(exchange, status));
+        server.createContext("/wd/hub/session",
+                exchange -> respond(exchange,
+                        "{\"value\": {\"sessionId\": \"session-"
+                                + sessionCount.incrementAndGet()
+                                + "\", \"capabilities\": {}}}"));
+        server.start();
+        return server;
+    }
+
+    private void respond(HttpExchange exchange,
+            String body) throws IOException {
+        byte[] bytes = body.getBytes("UTF-8");
+        exchange.getResponseHeaders().add("Content-Type",
+                "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private URL getUrl(HttpServer server) throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort()
+                + "/wd/hub");
+    }
+
+}
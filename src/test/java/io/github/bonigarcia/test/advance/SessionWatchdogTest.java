@@ -0,0 +1,143 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.advance;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import io.github.bonigarcia.SessionWatchdog;
+import io.github.bonigarcia.handler.DriverHandler;
+
+public class SessionWatchdogTest {
+
+    SessionWatchdog sessionWatchdog;
+    CountDownLatch killed = new CountDownLatch(1);
+
+    @BeforeEach
+    void setup() {
+        sessionWatchdog = new SessionWatchdog(1, 0);
+    }
+
+    @AfterEach
+    void teardown() {
+        sessionWatchdog.close();
+    }
+
+    @Test
+    void testHungCommand() {
+        // Browser which hangs loading pages until it is killed
+        CommandExecutor commandExecutor = command -> {
+            if (command.getName().equals("get")) {
+                try {
+                    if (killed.await(30, SECONDS)) {
+                        throw new IOException("Connection reset");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Response response = new Response();
+            response.setSessionId("session");
+            response.setValue(new HashMap<>());
+            response.setStatus(0);
+            return response;
+        };
+        RemoteWebDriver driver = new RemoteWebDriver(commandExecutor,
+                new DesiredCapabilities());
+        DriverHandler driverHandler = new DriverHandler() {
+            @Override
+            public void resolve() {
+                // Nothing to resolve
+            }
+
+            @Override
+            public boolean kill() {
+                killed.countDown();
+                return true;
+            }
+        };
+        sessionWatchdog.watch(driverHandler, driver);
+
+        driver.getTitle();
+        assertThat(sessionWatchdog.getKillReason(driverHandler), nullValue());
+        TimeoutException exception = assertThrows(TimeoutException.class,
+                () -> driver.get("https://bonigarcia.github.io/"));
+        assertThat(exception.getMessage(), containsString(
+                "Command get exceeded the deadline of 1 seconds"));
+        assertThat(sessionWatchdog.unwatch(driverHandler),
+                containsString("browser killed"));
+    }
+
+    @Test
+    void testPendingTest() throws InterruptedException {
+        // Browser provisioned in advance, waiting for the test to start
+        SessionWatchdog testWatchdog = new SessionWatchdog(0, 1);
+        try {
+            CommandExecutor commandExecutor = command -> {
+                Response response = new Response();
+                response.setSessionId("session");
+                response.setValue(new HashMap<>());
+                response.setStatus(0);
+                return response;
+            };
+            RemoteWebDriver driver = new RemoteWebDriver(commandExecutor,
+                    new DesiredCapabilities());
+            DriverHandler driverHandler = new DriverHandler() {
+                @Override
+                public void resolve() {
+                    // Nothing to resolve
+                }
+
+                @Override
+                public boolean kill() {
+                    killed.countDown();
+                    return true;
+                }
+            };
+            testWatchdog.watch(driverHandler, driver);
+            testWatchdog.testPending(singletonList(driverHandler));
+
+            assertFalse(killed.await(2, SECONDS));
+            testWatchdog.testStarted(singletonList(driverHandler));
+            assertTrue(killed.await(5, SECONDS));
+            assertThat(testWatchdog.unwatch(driverHandler), containsString(
+                    "Test exceeded the deadline of 1 seconds"));
+        } finally {
+            testWatchdog.close();
+        }
+    }
+
+}
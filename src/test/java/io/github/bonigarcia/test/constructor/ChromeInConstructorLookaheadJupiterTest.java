@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.constructor;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import io.github.bonigarcia.SeleniumExtension;
+import io.github.bonigarcia.SeleniumJupiter;
+
+@ExtendWith(SeleniumExtension.class)
+public class ChromeInConstructorLookaheadJupiterTest {
+
+    ChromeDriver driver;
+
+    @BeforeAll
+    static void setup() {
+        SeleniumJupiter.config().setLookaheadDepth(1);
+    }
+
+    @AfterAll
+    static void teardown() {
+        SeleniumJupiter.config().reset();
+    }
+
+    public ChromeInConstructorLookaheadJupiterTest(ChromeDriver driver) {
+        this.driver = driver;
+    }
+
+    @Test
+    void test1() {
+        exercise();
+    }
+
+    @Test
+    void test2() {
+        exercise();
+    }
+
+    @Test
+    void test3() {
+        exercise();
+    }
+
+    private void exercise() {
+        driver.get("https://bonigarcia.github.io/selenium-jupiter/");
+        assertThat(driver.getTitle(),
+                containsString("JUnit 5 extension for Selenium"));
+    }
+
+}
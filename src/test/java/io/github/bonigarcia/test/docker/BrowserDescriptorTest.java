@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static io.github.bonigarcia.BrowserType.CHROME;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.bonigarcia.BrowserDescriptor;
+import io.github.bonigarcia.SeleniumJupiter;
+
+public class BrowserDescriptorTest {
+
+    @AfterEach
+    void teardown() {
+        SeleniumJupiter.config().reset();
+    }
+
+    @Test
+    void testDescriptorIsCached() {
+        BrowserDescriptor descriptor = CHROME.getDescriptor();
+        assertThat(CHROME.getDescriptor(), sameInstance(descriptor));
+    }
+
+    @Test
+    void testDescriptorIsInvalidatedWithConfig() {
+        BrowserDescriptor descriptor = CHROME.getDescriptor();
+        SeleniumJupiter.config().setChromeImageFormat("custom/chrome:%s");
+
+        assertThat(CHROME.getDescriptor(), not(sameInstance(descriptor)));
+        assertThat(CHROME.getDockerImage("65.0"),
+                equalTo("custom/chrome:65.0"));
+    }
+
+    @Test
+    void testDescriptorIsInvalidatedWithJavaProperty() {
+        String defaultImage = CHROME.getDockerImage("65.0");
+        System.setProperty("sel.jup.chrome.image.format", "custom/chrome:%s");
+        try {
+            assertThat(CHROME.getDockerImage("65.0"),
+                    equalTo("custom/chrome:65.0"));
+        } finally {
+            System.clearProperty("sel.jup.chrome.image.format");
+        }
+        assertThat(CHROME.getDockerImage("65.0"), equalTo(defaultImage));
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.Logger;
+
+import io.github.bonigarcia.BrowserVersion;
+import io.github.bonigarcia.VersionComparator;
+import io.github.bonigarcia.VersionRange;
+
+public class BrowserVersionTest {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    @ParameterizedTest
+    @CsvSource({ "64.0, 65.0, -1", "65.0, 64.0, 1", "64.0, 64.0, 0",
+            "64.0.1, 64.0, 1", "64, 64.0, -1", "9.0, 10.0, -1" })
+    void testCompare(String version1, String version2, int expected) {
+        int compare = new BrowserVersion(version1)
+                .compareTo(new BrowserVersion(version2));
+        assertThat(Integer.signum(compare), equalTo(expected));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "64, 65", "64.0, 64.1", "3.6, 3.7" })
+    void testNextPrefix(String version, String expectedNextPrefix) {
+        assertThat(new BrowserVersion(version).nextPrefix().toString(),
+                equalTo(expectedNextPrefix));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "64.x, 64.0, true", "64.x, 65.0, false",
+            "'[63,65]', 65.0, true",
+            "'[63,65]', 66.0, false", "'(63,65)', 63.0, false",
+            "'(63,65)', 64.0, true", "'(63,65)', 65.0, false",
+            "'[63,)', 99.0, true" })
+    void testVersionRange(String range, String version, boolean expected) {
+        assertThat(VersionRange.isRange(range), equalTo(true));
+        assertThat(VersionRange.parse(range)
+                .contains(new BrowserVersion(version)), equalTo(expected));
+    }
+
+    @Test
+    void benchmarkLookup() {
+        List<String> versions = new ArrayList<>();
+        for (int major = 1; major <= 100; major++) {
+            for (int minor = 0; minor < 10; minor++) {
+                versions.add(major + "." + minor);
+            }
+        }
+        int iterations = 200;
+
+        // Sort and scan (as done with VersionComparator before)
+        long start = System.nanoTime();
+        String scanResult = null;
+        for (int i = 0; i < iterations; i++) {
+            List<String> sorted = versions.stream()
+                    .sorted(new VersionComparator()).collect(toList());
+            for (String version : sorted) {
+                if (version.startsWith("64")) {
+                    scanResult = version;
+                }
+            }
+        }
+        long sortAndScanNs = System.nanoTime() - start;
+
+        // Versions parsed once in a navigable index
+        start = System.nanoTime();
+        NavigableMap<BrowserVersion, String> index = new TreeMap<>();
+        for (String version : versions) {
+            index.put(new BrowserVersion(version), version);
+        }
+        long indexBuildNs = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        String indexResult = null;
+        for (int i = 0; i < iterations; i++) {
+            BrowserVersion prefix = new BrowserVersion("64");
+            indexResult = index.subMap(prefix, true, prefix.nextPrefix(), false)
+                    .lastEntry().getValue();
+        }
+        long indexNs = System.nanoTime() - start;
+
+        log.info(
+                "Sort and scan: {} ns/op -- Navigable index: {} ns/op "
+                        + "(built once in {} ns)",
+                sortAndScanNs / iterations, indexNs / iterations,
+                indexBuildNs);
+        assertThat(indexResult, equalTo(scanResult));
+    }
+
+}
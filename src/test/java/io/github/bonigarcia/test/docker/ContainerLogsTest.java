@@ -0,0 +1,133 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.readAllBytes;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.bonigarcia.ContainerLogBuffer;
+import io.github.bonigarcia.DockerContainer;
+import io.github.bonigarcia.DockerService;
+import io.github.bonigarcia.SeleniumJupiter;
+import io.github.bonigarcia.test.docker.FakeDockerDaemon.Response;
+
+public class ContainerLogsTest {
+
+    static final int LINES = 20;
+
+    FakeDockerDaemon dockerDaemon;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dockerDaemon = new FakeDockerDaemon();
+        dockerDaemon.route("GET", ".*/containers/[^/]+/logs",
+                request -> getLogs());
+    }
+
+    @AfterEach
+    void teardown() {
+        SeleniumJupiter.config().reset();
+        dockerDaemon.close();
+    }
+
+    @Test
+    void testRingBuffer() {
+        ContainerLogBuffer logBuffer = new ContainerLogBuffer(16);
+        logBuffer.append(ByteBuffer.wrap("first\n".getBytes()));
+        assertThat(new String(logBuffer.getContent()), equalTo("first\n"));
+
+        logBuffer.append(
+                ByteBuffer.wrap("second\nthird\nfourth\n".getBytes()));
+        assertThat(new String(logBuffer.getContent()),
+                equalTo("third\nfourth\n"));
+        assertThat(logBuffer.getOverwrittenBytes(), equalTo(10L));
+        assertThat(new String(logBuffer.getContent(19)), equalTo("fourth\n"));
+        assertThat(new String(logBuffer.getContent(3)),
+                equalTo("third\nfourth\n"));
+    }
+
+    @Test
+    void testLogsCollected() throws Exception {
+        SeleniumJupiter.config().setDockerLogsOnFailure(true);
+        SeleniumJupiter.config().setDockerLogsBufferSize("64");
+        File logFile = createTempFile("container", ".log").toFile();
+        File testLogFile = createTempFile("container", ".log").toFile();
+
+        DockerService dockerService = new DockerService(
+                dockerDaemon.getUrl());
+        try {
+            String containerId = dockerService.startContainer(
+                    DockerContainer.dockerBuilder("aerokube/selenoid").build());
+            // Wait for the collector to read the whole stream
+            await().atMost(5, SECONDS).until(() -> dockerService
+                    .getLogsPosition(containerId) == getLogsSize());
+            assertTrue(dockerService.writeLogs(containerId, logFile, 0));
+
+            // Logs are kept for the next tests, which only get their own
+            long position = dockerService.getLogsPosition(containerId);
+            assertThat(dockerService.writeLogs(containerId, testLogFile,
+                    position), equalTo(false));
+            assertTrue(dockerService.writeLogs(containerId, testLogFile,
+                    position - ("line " + LINES + "\n").length()));
+        } finally {
+            dockerService.close();
+        }
+
+        String logs = new String(readAllBytes(logFile.toPath()));
+        assertTrue(logs.startsWith("line "));
+        assertTrue(logs.endsWith("line " + LINES + "\n"));
+        assertTrue(logs.length() <= 64);
+        assertThat(new String(readAllBytes(testLogFile.toPath())),
+                equalTo("line " + LINES + "\n"));
+    }
+
+    private long getLogsSize() {
+        long size = 0;
+        for (int i = 1; i <= LINES; i++) {
+            size += ("line " + i + "\n").length();
+        }
+        return size;
+    }
+
+    private Response getLogs() throws IOException {
+        // Multiplexed stream: header (stream, 0, 0, 0, size) and payload
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        for (int i = 1; i <= LINES; i++) {
+            byte[] line = ("line " + i + "\n").getBytes();
+            frames.write(ByteBuffer.allocate(8).put((byte) 1)
+                    .putInt(4, line.length).array());
+            frames.write(line);
+        }
+        return new Response(200, "application/vnd.docker.raw-stream",
+                frames.toByteArray());
+    }
+
+}
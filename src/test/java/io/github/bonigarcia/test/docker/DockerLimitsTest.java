@@ -0,0 +1,224 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static io.github.bonigarcia.BrowserType.CHROME;
+import static io.github.bonigarcia.DockerService.parseBytes;
+import static io.github.bonigarcia.DockerService.parseNanoCpus;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import io.github.bonigarcia.DockerContainer;
+import io.github.bonigarcia.DockerService;
+import io.github.bonigarcia.SeleniumJupiter;
+import io.github.bonigarcia.StartupBenchmark;
+import io.github.bonigarcia.handler.DockerDriverHandler;
+import io.github.bonigarcia.test.docker.FakeDockerDaemon.Response;
+
+public class DockerLimitsTest {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final int CORES = 2;
+    static final int SESSIONS = 8;
+
+    FakeDockerDaemon dockerDaemon;
+    List<JsonObject> containers = new CopyOnWriteArrayList<>();
+    AtomicInteger sessions = new AtomicInteger();
+    double reservedCpu;
+
+    @BeforeEach
+    void setup() throws IOException {
+        SeleniumJupiter.config().setBrowserListFromDockerHub(false);
+        dockerDaemon = new FakeDockerDaemon();
+        dockerDaemon.route("POST", ".*/containers/create", request -> {
+            containers.add(
+                    new Gson().fromJson(request.getBody(), JsonObject.class));
+            return Response.json(201,
+                    "{\"Id\": \"container-" + containers.size() + "\"}");
+        });
+        // The containers are fake Selenoid hubs served by the daemon itself
+        dockerDaemon.route("POST", "/wd/hub/session",
+                request -> getSession());
+        dockerDaemon.route("DELETE", "/wd/hub/session/.*",
+                request -> Response.json(200, "{\"value\": null}"));
+        SeleniumJupiter.config().setDockerServerUrl(dockerDaemon.getUrl());
+    }
+
+    @AfterEach
+    void teardown() {
+        SeleniumJupiter.config().reset();
+        dockerDaemon.close();
+    }
+
+    @Test
+    void testParseLimits() {
+        assertThat(parseBytes("128m"), equalTo(128L * 1024 * 1024));
+        assertThat(parseBytes("1.5g"), equalTo(1536L * 1024 * 1024));
+        assertThat(parseBytes("512"), equalTo(512L));
+        assertThat(parseBytes(""), equalTo(null));
+        assertThat(parseNanoCpus("0.25"), equalTo(250_000_000L));
+        assertThat(parseNanoCpus(" "), equalTo(null));
+    }
+
+    @Test
+    void testHostConfig() throws Exception {
+        DockerService dockerService = new DockerService(
+                dockerDaemon.getUrl());
+        try {
+            dockerService.startContainer(DockerContainer
+                    .dockerBuilder("aerokube/selenoid")
+                    .memory(parseBytes("64m")).nanoCpus(parseNanoCpus("0.25"))
+                    .shmSize(parseBytes("32m")).pidsLimit(100).build());
+        } finally {
+            dockerService.close();
+        }
+        JsonObject hostConfig = containers.get(0)
+                .getAsJsonObject("HostConfig");
+        assertThat(hostConfig.get("Memory").getAsLong(),
+                equalTo(64L * 1024 * 1024));
+        assertThat(hostConfig.get("NanoCpus").getAsLong(),
+                equalTo(250_000_000L));
+        assertThat(hostConfig.get("ShmSize").getAsLong(),
+                equalTo(32L * 1024 * 1024));
+        assertThat(hostConfig.get("PidsLimit").getAsInt(), equalTo(100));
+    }
+
+    @Test
+    void testBrowserHostConfig() throws Exception {
+        SeleniumJupiter.config().setDockerMemory("256m");
+        SeleniumJupiter.config().setDockerCpu("1");
+        SeleniumJupiter.config().setDockerPidsLimit(200);
+        SeleniumJupiter.config().setDockerBrowserMemory("512m");
+        SeleniumJupiter.config().setDockerBrowserCpu("0.5");
+        SeleniumJupiter.config().setDockerBrowserShmSize("256m");
+
+        DockerDriverHandler dockerDriverHandler = new DockerDriverHandler();
+        try {
+            dockerDriverHandler.resolve(CHROME, "65.0");
+            dockerDriverHandler.startNoVncContainer();
+        } finally {
+            dockerDriverHandler.cleanup();
+            dockerDriverHandler.close();
+        }
+
+        // Selenoid and noVNC containers
+        assertThat(containers.size(), equalTo(2));
+        for (JsonObject container : containers) {
+            JsonObject hostConfig = container.getAsJsonObject("HostConfig");
+            assertThat(hostConfig.get("Memory").getAsLong(),
+                    equalTo(256L * 1024 * 1024));
+            assertThat(hostConfig.get("NanoCpus").getAsLong(),
+                    equalTo(1_000_000_000L));
+            assertThat(hostConfig.get("PidsLimit").getAsInt(), equalTo(200));
+        }
+
+        // Limits of the browser containers started by Selenoid
+        JsonObject browser = getBrowser(containers.get(0));
+        assertThat(browser.get("mem").getAsString(), equalTo("512m"));
+        assertThat(browser.get("cpu").getAsString(), equalTo("0.5"));
+        assertThat(browser.get("shmSize").getAsLong(),
+                equalTo(256L * 1024 * 1024));
+        assertThat(dockerDaemon.getRunningContainers(), equalTo(0));
+    }
+
+    @Test
+    void testDensity() throws Exception {
+        SeleniumJupiter.config().setDockerBrowserCpu("0.5");
+
+        // Selenoid admits the sessions requested at the same time while the
+        // CPU of their browsers fits in the cores of the host
+        CountDownLatch requests = new CountDownLatch(SESSIONS);
+        dockerDaemon.route("POST", "/wd/hub/session", request -> {
+            boolean admitted = reserveCpu(getBrowser(containers.get(0))
+                    .get("cpu").getAsDouble());
+            requests.countDown();
+            try {
+                requests.await(10, SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return admitted ? getSession()
+                    : Response.json(500,
+                            "{\"value\": {\"error\": \"session not created\","
+                                    + " \"message\": \"No CPU available\","
+                                    + " \"stacktrace\": \"\"}}");
+        });
+
+        StartupBenchmark startupBenchmark = new StartupBenchmark(CHROME,
+                "65.0", SESSIONS, SESSIONS);
+        startupBenchmark.run();
+        int admittedSessions = SESSIONS - startupBenchmark.getFailedSessions();
+        double sessionsPerCore = (double) admittedSessions / CORES;
+        log.info("{} of {} browsers admitted in {} cores ({} per core)",
+                admittedSessions, SESSIONS, CORES, sessionsPerCore);
+
+        assertThat(admittedSessions, equalTo(4));
+        assertThat(sessionsPerCore, equalTo(2.0));
+        assertThat(dockerDaemon.getRunningContainers(), equalTo(0));
+    }
+
+    private synchronized boolean reserveCpu(double cpu) {
+        if (reservedCpu + cpu > CORES) {
+            return false;
+        }
+        reservedCpu += cpu;
+        return true;
+    }
+
+    private Response getSession() {
+        return Response.json(200,
+                "{\"value\": {\"sessionId\": \"session-"
+                        + sessions.incrementAndGet()
+                        + "\", \"capabilities\": "
+                        + "{\"browserName\": \"chrome\"}}}");
+    }
+
+    /**
+     * Default Chrome in the browsers.json written by the command of the
+     * Selenoid container.
+     */
+    private JsonObject getBrowser(JsonObject selenoidContainer) {
+        String cmd = selenoidContainer.getAsJsonArray("Cmd").get(2)
+                .getAsString();
+        String browsersJson = cmd.substring(cmd.indexOf("echo '") + 6,
+                cmd.indexOf("' > "));
+        JsonObject chrome = new Gson()
+                .fromJson(browsersJson, JsonObject.class)
+                .getAsJsonObject("chrome");
+        return chrome.getAsJsonObject("versions")
+                .getAsJsonObject(chrome.get("default").getAsString());
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static io.github.bonigarcia.BrowserType.CHROME;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+import java.io.File;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import io.github.bonigarcia.DockerBrowser;
+import io.github.bonigarcia.SeleniumExtension;
+import io.github.bonigarcia.SeleniumJupiter;
+
+@ExtendWith(SeleniumExtension.class)
+@TestInstance(PER_CLASS)
+public class DockerRecordingWhenFailureJupiterTest {
+
+    File recordingFile;
+    File sessionFile;
+
+    @BeforeEach
+    void setup() {
+        SeleniumJupiter.config().enableRecordingWhenFailure();
+    }
+
+    @AfterAll
+    void teardown() {
+        SeleniumJupiter.config().reset();
+        // The recording of a succeeded test is discarded in background once
+        // Selenoid writes it (and it is never renamed)
+        await().pollDelay(10, SECONDS).atMost(60, SECONDS)
+                .until(() -> !sessionFile.exists());
+        assertFalse(recordingFile.exists());
+    }
+
+    @Test
+    public void testLatest(
+            @DockerBrowser(type = CHROME, version = "64.0") RemoteWebDriver driver) {
+        driver.get("https://bonigarcia.github.io/selenium-jupiter/");
+        assertThat(driver.getTitle(),
+                containsString("JUnit 5 extension for Selenium"));
+        recordingFile = new File("testLatest_arg0_CHROME_64.0_"
+                + driver.getSessionId() + ".mp4");
+        sessionFile = new File(driver.getSessionId() + ".mp4");
+    }
+
+}
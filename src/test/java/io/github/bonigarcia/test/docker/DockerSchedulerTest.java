@@ -0,0 +1,181 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static io.github.bonigarcia.BrowserType.CHROME;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.spotify.docker.client.exceptions.DockerCertificateException;
+
+import io.github.bonigarcia.DockerContainer;
+import io.github.bonigarcia.DockerScheduler;
+import io.github.bonigarcia.DockerService;
+import io.github.bonigarcia.SeleniumJupiter;
+import io.github.bonigarcia.handler.DockerDriverHandler;
+import io.github.bonigarcia.test.docker.FakeDockerDaemon.Response;
+
+public class DockerSchedulerTest {
+
+    @Test
+    void testDockerServers() throws DockerCertificateException {
+        List<String> urls = DockerScheduler.parseUrls(
+                "unix:///run/user/1000/docker.sock, tcp://localhost:2375,");
+        assertThat(urls.size(), equalTo(2));
+
+        DockerScheduler dockerScheduler = new DockerScheduler(urls);
+        try {
+            List<DockerService> dockerServices = dockerScheduler
+                    .getDockerServices();
+            assertThat(dockerServices.get(0).getDockerHostSocket(),
+                    equalTo("/run/user/1000/docker.sock"));
+            assertThat(dockerServices.get(1).getDockerHostSocket(),
+                    equalTo(dockerServices.get(1).getDockerDefaultSocket()));
+            DockerService dockerService = dockerScheduler.getDockerService();
+            assertThat(dockerService.getRunningContainers(), equalTo(0));
+        } finally {
+            dockerScheduler.close();
+        }
+    }
+
+    @Test
+    void testPlacement() throws Exception {
+        try (FakeDockerDaemon daemon1 = new FakeDockerDaemon();
+                FakeDockerDaemon daemon2 = new FakeDockerDaemon()) {
+            // Browsers started by Selenoid (not by Selenium-Jupiter)
+            daemon1.addRunningContainer("browser-1");
+            daemon1.addRunningContainer("browser-2");
+
+            DockerScheduler dockerScheduler = new DockerScheduler(
+                    asList(daemon1.getUrl(), daemon2.getUrl()));
+            try {
+                DockerService dockerService = dockerScheduler
+                        .getDockerService();
+                assertThat(dockerService.getDockerServerUrl(),
+                        equalTo(daemon2.getUrl()));
+                for (int i = 0; i < 3; i++) {
+                    dockerService.startContainer(DockerContainer
+                            .dockerBuilder("aerokube/selenoid").build());
+                }
+                assertThat(dockerScheduler.getDockerService()
+                        .getDockerServerUrl(), equalTo(daemon1.getUrl()));
+            } finally {
+                dockerScheduler.close();
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentPlacement() throws Exception {
+        try (FakeDockerDaemon daemon1 = new FakeDockerDaemon();
+                FakeDockerDaemon daemon2 = new FakeDockerDaemon()) {
+            daemon1.addRunningContainer("browser-1");
+
+            DockerScheduler dockerScheduler = new DockerScheduler(
+                    asList(daemon1.getUrl(), daemon2.getUrl()));
+            int tests = 8;
+            ExecutorService executorService = newFixedThreadPool(tests);
+            try {
+                // Tests placed at the same time, before their containers
+                // are running
+                CountDownLatch start = new CountDownLatch(1);
+                Callable<DockerService> placement = () -> {
+                    start.await();
+                    return dockerScheduler.getDockerService();
+                };
+                List<Future<DockerService>> futures = new ArrayList<>();
+                for (int i = 0; i < tests; i++) {
+                    futures.add(executorService.submit(placement));
+                }
+                start.countDown();
+                List<DockerService> placed = new ArrayList<>();
+                for (Future<DockerService> future : futures) {
+                    placed.add(future.get());
+                }
+
+                List<DockerService> dockerServices = dockerScheduler
+                        .getDockerServices();
+                assertThat(dockerScheduler.getPlacements(
+                        dockerServices.get(0)), equalTo(tests / 2));
+                assertThat(dockerScheduler.getPlacements(
+                        dockerServices.get(1)), equalTo(tests / 2));
+
+                // Placements are released in the cleanup of the tests
+                placed.forEach(dockerScheduler::release);
+                assertThat(dockerScheduler.getPlacements(
+                        dockerServices.get(0)), equalTo(0));
+                assertThat(dockerScheduler.getDockerService()
+                        .getDockerServerUrl(), equalTo(daemon2.getUrl()));
+            } finally {
+                executorService.shutdown();
+                dockerScheduler.close();
+            }
+        }
+    }
+
+    @Test
+    void testVersionRangeInPlacedDaemon() throws Exception {
+        try (FakeDockerDaemon daemon1 = new FakeDockerDaemon();
+                FakeDockerDaemon daemon2 = new FakeDockerDaemon()) {
+            // The test is placed in the second daemon, which is the only
+            // one with Chrome 63 (the first one has Chrome 64)
+            daemon1.addRunningContainer("browser-1");
+            AtomicReference<String> session = new AtomicReference<>();
+            for (FakeDockerDaemon daemon : asList(daemon1, daemon2)) {
+                daemon.route("POST", "/wd/hub/session", request -> {
+                    session.set(request.getBody());
+                    return Response.json(200,
+                            "{\"value\": {\"sessionId\": \"session-1\", "
+                                    + "\"capabilities\": "
+                                    + "{\"browserName\": \"chrome\"}}}");
+                });
+                daemon.route("DELETE", "/wd/hub/session/.*",
+                        request -> Response.json(200, "{\"value\": null}"));
+            }
+            daemon1.addImage("selenoid/vnc:chrome_64.0");
+            daemon2.addImage("selenoid/vnc:chrome_63.0");
+            SeleniumJupiter.config().setDockerServerUrl(
+                    daemon1.getUrl() + "," + daemon2.getUrl());
+            SeleniumJupiter.config().setBrowserListFromDockerHub(false);
+
+            DockerDriverHandler dockerDriverHandler = new DockerDriverHandler();
+            try {
+                dockerDriverHandler.resolve(CHROME, "[63,65)");
+                assertThat(session.get(), containsString("\"63.0\""));
+                assertThat(daemon2.getRunningContainers(), equalTo(1));
+            } finally {
+                dockerDriverHandler.cleanup();
+                dockerDriverHandler.close();
+                SeleniumJupiter.config().reset();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Fake Docker daemon for tests, serving the part of the Docker API used by
+ * Selenium-Jupiter: images are inspected (only the ones added by the test
+ * exist) and pulled, containers are created, started, inspected (with the
+ * Selenoid and noVNC ports bound to a given host port), listed, stopped and
+ * removed.
+ * Tests add routes to change or extend this behavior (routes added later take
+ * precedence).
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class FakeDockerDaemon implements AutoCloseable {
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService = newCachedThreadPool();
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Set<String> runningContainers = ConcurrentHashMap
+            .newKeySet();
+    private final Set<String> images = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger createdContainers = new AtomicInteger();
+    private volatile int hostPort;
+
+    public FakeDockerDaemon() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(0), 0);
+        httpServer.createContext("/", this::handle);
+        httpServer.setExecutor(executorService);
+        hostPort = getPort();
+
+        route("GET", ".*/images/.+/json", request -> images
+                .contains(request.getPath().replaceAll(".*/images/|/json$", ""))
+                        ? Response.json(200, getImageInfo())
+                        : Response.json(404, "{\"message\": \"not found\"}"));
+        route("POST", ".*/images/create", request -> Response.json(200, "{}"));
+        route("POST", ".*/containers/create", request -> Response.json(201,
+                "{\"Id\": \"container-" + createdContainers.incrementAndGet()
+                        + "\"}"));
+        route("POST", ".*/containers/[^/]+/start", request -> {
+            runningContainers.add(request.getContainerId());
+            return Response.empty(204);
+        });
+        route("POST", ".*/containers/[^/]+/(stop|kill)", request -> {
+            runningContainers.remove(request.getContainerId());
+            return Response.empty(204);
+        });
+        route("DELETE", ".*/containers/[^/]+", request -> {
+            runningContainers.remove(request.getContainerId());
+            return Response.empty(204);
+        });
+        route("GET", ".*/containers/json",
+                request -> Response.json(200, getContainerList()));
+        route("GET", ".*/containers/[^/]+/json",
+                request -> Response.json(200, getContainerInfo()));
+        httpServer.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Host port bound to the ports of the containers (the port of the daemon
+     * by default, so it can also serve as a fake Selenoid).
+     */
+    public void setHostPort(int hostPort) {
+        this.hostPort = hostPort;
+    }
+
+    public void route(String method, String pathRegex, Handler handler) {
+        routes.add(0, new Route(method, pathRegex, handler));
+    }
+
+    public int getRunningContainers() {
+        return runningContainers.size();
+    }
+
+    /**
+     * Simulate a container started by other client (e.g. Selenoid).
+     */
+    public void addRunningContainer(String containerId) {
+        runningContainers.add(containerId);
+    }
+
+    /**
+     * Simulate an image available in the daemon.
+     */
+    public void addImage(String image) {
+        images.add(image);
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        // The body is always read, since connections are reused
+        Request request = new Request(exchange.getRequestMethod(),
+                exchange.getRequestURI().getPath(),
+                IOUtils.toString(exchange.getRequestBody(), "UTF-8"));
+        Response response = Response.json(404, "{\"message\": \"not found\"}");
+        for (Route route : routes) {
+            if (route.method.equals(request.method)
+                    && request.path.matches(route.pathRegex)) {
+                response = route.handler.handle(request);
+                break;
+            }
+        }
+        if (response.body == null) {
+            exchange.sendResponseHeaders(response.status, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type",
+                response.contentType);
+        exchange.sendResponseHeaders(response.status, response.body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response.body);
+        }
+    }
+
+    private String getContainerList() {
+        List<String> containers = new ArrayList<>();
+        for (String containerId : runningContainers) {
+            containers.add("{\"Id\": \"" + containerId + "\", \"Image\": "
+                    + "\"image\", \"Command\": \"sh\", \"Created\": 0, "
+                    + "\"Status\": \"Up\"}");
+        }
+        return "[" + String.join(", ", containers) + "]";
+    }
+
+    private String getImageInfo() {
+        return "{\"Id\": \"image\", \"Parent\": \"\", \"Comment\": \"\","
+                + " \"Created\": \"2018-01-01T00:00:00Z\", \"Container\": \"\","
+                + " \"ContainerConfig\": {}, \"DockerVersion\": \"\","
+                + " \"Author\": \"\", \"Config\": {},"
+                + " \"Architecture\": \"amd64\", \"Os\": \"linux\","
+                + " \"Size\": 0, \"VirtualSize\": 0}";
+    }
+
+    private String getContainerInfo() {
+        String date = "\"2018-01-01T00:00:00Z\"";
+        return "{\"Created\": " + date + ", \"Path\": \"sh\", \"Args\": [],"
+                + " \"Config\": {\"Image\": \"selenoid\"},"
+                + " \"State\": {\"Running\": true, \"Paused\": false,"
+                + " \"Pid\": 1, \"ExitCode\": 0, \"StartedAt\": " + date
+                + ", \"FinishedAt\": " + date + "},"
+                + " \"Image\": \"selenoid\", \"ResolvConfPath\": \"\","
+                + " \"HostnamePath\": \"\", \"HostsPath\": \"\","
+                + " \"Name\": \"selenoid\", \"Driver\": \"overlay2\","
+                + " \"ProcessLabel\": \"\", \"MountLabel\": \"\","
+                + " \"AppArmorProfile\": \"\", \"LogPath\": \"\","
+                + " \"RestartCount\": 0, \"NetworkSettings\": {\"Ports\":"
+                + " {\"4444/tcp\": [{\"HostIp\": \"0.0.0.0\","
+                + " \"HostPort\": \"" + hostPort + "\"}],"
+                + " \"8080/tcp\": [{\"HostIp\": \"0.0.0.0\","
+                + " \"HostPort\": \"" + hostPort + "\"}]},"
+                + " \"Networks\": {\"bridge\": {\"NetworkID\": \"bridge\","
+                + " \"EndpointID\": \"endpoint\", \"Gateway\": \"localhost\","
+                + " \"IPAddress\": \"\", \"IPPrefixLen\": 0,"
+                + " \"IPv6Gateway\": \"\", \"GlobalIPv6Address\": \"\","
+                + " \"GlobalIPv6PrefixLen\": 0, \"MacAddress\": \"\"}}}}";
+    }
+
+    public interface Handler {
+        Response handle(Request request) throws IOException;
+    }
+
+    public static class Request {
+        final String method;
+        final String path;
+        final String body;
+
+        Request(String method, String path, String body) {
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * Id of the container in paths such as /containers/{id}/start.
+         */
+        public String getContainerId() {
+            String[] segments = path.split("/");
+            for (int i = 0; i < segments.length - 1; i++) {
+                if (segments[i].equals("containers")) {
+                    return segments[i + 1];
+                }
+            }
+            return null;
+        }
+    }
+
+    public static class Response {
+        final int status;
+        final String contentType;
+        final byte[] body;
+
+        public Response(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public static Response json(int status, String body) {
+            return new Response(status, "application/json; charset=utf-8",
+                    body.getBytes(UTF_8));
+        }
+
+        public static Response empty(int status) {
+            return new Response(status, null, null);
+        }
+    }
+
+    static class Route {
+        final String method;
+        final String pathRegex;
+        final Handler handler;
+
+        Route(String method, String pathRegex, Handler handler) {
+            this.method = method;
+            this.pathRegex = pathRegex;
+            this.handler = handler;
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.NavigableMap;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.AfterAll;
@@ -43,6 +44,7 @@ import com.google.common.collect.MapDifference;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 
+import io.github.bonigarcia.BrowserVersion;
 import io.github.bonigarcia.SeleniumJupiter;
 import io.github.bonigarcia.SelenoidConfig;
 import io.github.bonigarcia.test.mockito.MockitoExtension;
@@ -76,6 +78,32 @@ public class SelenoidConfigTest {
         assertThat(nextVersion, equalTo(expectedNextVersion));
     }
 
+    @ParameterizedTest
+    @CsvSource({ "64, 64.0", "64.0, 64.0", "65.0, 65.0", "beta, beta" })
+    void testImageVersion(String version, String expectedImageVersion) {
+        assertThat(selenoidConfig.getImageVersion(CHROME, version),
+                equalTo(expectedImageVersion));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "latest-1, 64.0", "latest-2, 63.0" })
+    void testVersionFromLabel(String label, String expectedVersion) {
+        assertThat(selenoidConfig.getVersionFromLabel(CHROME, label),
+                equalTo(expectedVersion));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "64.x, 64.0, 64.0", "'[63,65]', 63.0, 65.0",
+            "'(63,65)', 64.0, 64.0", "'[63,)', 63.0, 65.0",
+            "'(,49)', 48.0, 48.0" })
+    void testVersionsInRange(String range, String expectedOldest,
+            String expectedNewest) {
+        NavigableMap<BrowserVersion, String> versions = selenoidConfig
+                .getVersionsInRange(CHROME, range);
+        assertThat(versions.firstEntry().getValue(), equalTo(expectedOldest));
+        assertThat(versions.lastEntry().getValue(), equalTo(expectedNewest));
+    }
+
     @Test
     @SuppressWarnings("serial")
     void testBrowserConfig() throws IOException {
@@ -0,0 +1,59 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.docker;
+
+import static java.nio.file.Files.createFile;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.bonigarcia.VncTrigger;
+
+public class VncTriggerTest {
+
+    @Test
+    void testTriggerFile() throws IOException, InterruptedException {
+        File triggerFile = new File(createTempDirectory("vnc").toFile(),
+                "vnc.trigger");
+        VncTrigger vncTrigger = new VncTrigger(triggerFile);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicInteger removedViewerCount = new AtomicInteger();
+            Runnable removedViewer = removedViewerCount::incrementAndGet;
+            vncTrigger.add(started::countDown);
+            vncTrigger.add(removedViewer);
+            vncTrigger.remove(removedViewer);
+
+            createFile(triggerFile.toPath());
+            assertTrue(started.await(5, SECONDS));
+            assertThat(triggerFile.exists(), equalTo(false));
+            assertThat(removedViewerCount.get(), equalTo(0));
+        } finally {
+            vncTrigger.close();
+        }
+    }
+
+}
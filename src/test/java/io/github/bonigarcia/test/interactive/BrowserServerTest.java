@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.interactive;
+
+import static io.github.bonigarcia.BrowserType.CHROME;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.github.bonigarcia.BrowserServer;
+import io.github.bonigarcia.BrowserType;
+import io.github.bonigarcia.SeleniumJupiterException;
+
+/**
+ * Test server mode, with fake browsers instead of browsers in Docker.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class BrowserServerTest {
+
+    AtomicInteger startedBrowsers = new AtomicInteger();
+    AtomicInteger closedBrowsers = new AtomicInteger();
+    volatile boolean stopWhenStarting;
+    BrowserServer browserServer;
+
+    @BeforeEach
+    void setup() throws IOException {
+        browserServer = new BrowserServer(0, 1) {
+            @Override
+            protected BrowserSession startSession(BrowserType browser,
+                    String version) {
+                if (stopWhenStarting) {
+                    stop();
+                }
+                return new BrowserSession(browser.name().toLowerCase(),
+                        version, "http://localhost:4444/wd/hub",
+                        "session-" + startedBrowsers.incrementAndGet(), null,
+                        closedBrowsers::incrementAndGet);
+            }
+        };
+        browserServer.start();
+    }
+
+    @AfterEach
+    void teardown() {
+        browserServer.stop();
+    }
+
+    @Test
+    void testSessions() throws IOException {
+        Response created = request("POST", "/sessions",
+                "{\"browser\": \"chrome\", \"version\": \"65.0\"}");
+        assertThat(created.status, equalTo(201));
+        String id = created.getJson().get("id").getAsString();
+        assertThat(created.getJson().get("version").getAsString(),
+                equalTo("65.0"));
+
+        // The pool is replenished in background
+        await().atMost(5, SECONDS)
+                .until(() -> browserServer.getIdleSessions() == 1);
+        Response pooled = request("POST", "/sessions",
+                "{\"browser\": \"chrome\", \"version\": \"65.0\"}");
+        assertThat(pooled.getJson().get("id").getAsString(),
+                equalTo("session-2"));
+
+        Response list = request("GET", "/sessions", null);
+        assertThat(new Gson().fromJson(list.body, JsonArray.class).size(),
+                equalTo(2));
+
+        assertThat(request("DELETE", "/sessions/" + id, null).status,
+                equalTo(204));
+        assertThat(closedBrowsers.get(), equalTo(1));
+        assertThat(request("GET", "/sessions/" + id, null).status,
+                equalTo(404));
+        assertThat(request("DELETE", "/sessions/" + id, null).status,
+                equalTo(404));
+    }
+
+    @Test
+    void testLoopback() {
+        assertTrue(browserServer.getAddress().getAddress().isLoopbackAddress());
+    }
+
+    @Test
+    void testInvalidBrowser() throws IOException {
+        Response response = request("POST", "/sessions",
+                "{\"browser\": \"lynx\"}");
+        assertThat(response.status, equalTo(400));
+        assertThat(startedBrowsers.get(), equalTo(0));
+    }
+
+    @Test
+    void testWarm() {
+        browserServer.warm("firefox, chrome:beta");
+        await().atMost(5, SECONDS)
+                .until(() -> browserServer.getIdleSessions() == 2);
+        browserServer.stop();
+        assertThat(closedBrowsers.get(), equalTo(2));
+    }
+
+    @Test
+    void testStopWhenStarting() {
+        // The server is stopped while the browser is started
+        stopWhenStarting = true;
+        assertThrows(SeleniumJupiterException.class,
+                () -> browserServer.create(CHROME, "65.0"));
+        assertThat(closedBrowsers.get(), equalTo(1));
+        assertThat(browserServer.getSessions().size(), equalTo(0));
+    }
+
+    private Response request(String method, String path, String body)
+            throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                browserServer.getUrl() + path).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body.getBytes("UTF-8"));
+            }
+        }
+        Response response = new Response();
+        response.status = connection.getResponseCode();
+        try (InputStream inputStream = response.status < 400
+                ? connection.getInputStream()
+                : connection.getErrorStream()) {
+            response.body = inputStream != null
+                    ? IOUtils.toString(inputStream, "UTF-8")
+                    : "";
+        }
+        return response;
+    }
+
+    static class Response {
+        int status;
+        String body;
+
+        JsonObject getJson() {
+            return new Gson().fromJson(body, JsonObject.class);
+        }
+    }
+
+}
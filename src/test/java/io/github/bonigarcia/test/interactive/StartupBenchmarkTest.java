@@ -0,0 +1,130 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.interactive;
+
+import static io.github.bonigarcia.BrowserType.CHROME;
+import static io.github.bonigarcia.StartupPhase.CONTAINER_START;
+import static io.github.bonigarcia.StartupPhase.CONTAINER_STOP;
+import static io.github.bonigarcia.StartupPhase.IMAGE_CHECK;
+import static io.github.bonigarcia.StartupPhase.QUIT;
+import static io.github.bonigarcia.StartupPhase.SESSION_CREATE;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import io.github.bonigarcia.LatencyHistogram;
+import io.github.bonigarcia.SeleniumJupiter;
+import io.github.bonigarcia.StartupBenchmark;
+import io.github.bonigarcia.test.docker.FakeDockerDaemon;
+import io.github.bonigarcia.test.docker.FakeDockerDaemon.Response;
+
+/**
+ * Test bench mode, with a fake Docker daemon and a fake Selenoid.
+ *
+ * @author Boni Garcia (boni.gg@gmail.com)
+ * @since 2.1.2
+ */
+public class StartupBenchmarkTest {
+
+    final Logger log = getLogger(lookup().lookupClass());
+
+    static final int SESSIONS = 6;
+    static final int CONCURRENCY = 3;
+
+    FakeDockerDaemon dockerDaemon;
+    AtomicInteger sessions = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws IOException {
+        dockerDaemon = newDockerDaemon();
+        SeleniumJupiter.config().setDockerServerUrl(dockerDaemon.getUrl());
+        SeleniumJupiter.config().setBrowserListFromDockerHub(false);
+    }
+
+    private FakeDockerDaemon newDockerDaemon() throws IOException {
+        // The containers are fake Selenoid hubs served by the daemon itself
+        FakeDockerDaemon daemon = new FakeDockerDaemon();
+        daemon.route("POST", "/wd/hub/session",
+                request -> Response.json(200,
+                        "{\"value\": {\"sessionId\": \"session-"
+                                + sessions.incrementAndGet()
+                                + "\", \"capabilities\": "
+                                + "{\"browserName\": \"chrome\"}}}"));
+        daemon.route("DELETE", "/wd/hub/session/.*",
+                request -> Response.json(200, "{\"value\": null}"));
+        return daemon;
+    }
+
+    @AfterEach
+    void teardown() {
+        SeleniumJupiter.config().reset();
+        dockerDaemon.close();
+    }
+
+    @Test
+    void testBenchmark() throws InterruptedException {
+        StartupBenchmark startupBenchmark = new StartupBenchmark(CHROME,
+                "65.0", SESSIONS, CONCURRENCY);
+        startupBenchmark.run();
+        log.info("{}", startupBenchmark.getReport());
+
+        assertThat(startupBenchmark.getFailedSessions(), equalTo(0));
+        Map<String, LatencyHistogram> histograms = startupBenchmark
+                .getPhaseLatencies().getHistograms();
+        // Selenoid image and browser image
+        assertThat(histograms.get(IMAGE_CHECK.toString()).getCount(),
+                equalTo(2L * SESSIONS));
+        assertThat(histograms.get(CONTAINER_START.toString()).getCount(),
+                equalTo((long) SESSIONS));
+        assertThat(histograms.get(SESSION_CREATE.toString()).getCount(),
+                equalTo((long) SESSIONS));
+        assertThat(histograms.get(QUIT.toString()).getCount(),
+                equalTo((long) SESSIONS));
+        assertThat(histograms.get(CONTAINER_STOP.toString()).getCount(),
+                equalTo((long) SESSIONS));
+        assertThat(dockerDaemon.getRunningContainers(), equalTo(0));
+    }
+
+    @Test
+    void testBenchmarkInSeveralDaemons() throws Exception {
+        // The Docker clients of the scheduler are shared by the sessions
+        try (FakeDockerDaemon otherDaemon = newDockerDaemon()) {
+            SeleniumJupiter.config().setDockerServerUrl(
+                    dockerDaemon.getUrl() + "," + otherDaemon.getUrl());
+            StartupBenchmark startupBenchmark = new StartupBenchmark(CHROME,
+                    "65.0", SESSIONS, CONCURRENCY);
+            startupBenchmark.run();
+            log.info("{}", startupBenchmark.getReport());
+
+            assertThat(startupBenchmark.getFailedSessions(), equalTo(0));
+            assertThat(sessions.get(), equalTo(SESSIONS));
+            assertThat(dockerDaemon.getRunningContainers(), equalTo(0));
+            assertThat(otherDaemon.getRunningContainers(), equalTo(0));
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.screenshot;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.exists;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.bonigarcia.ScreenshotDiff;
+
+public class ScreenshotDiffTest {
+
+    Path tmpFolder;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tmpFolder = createTempDirectory("screenshot-diff");
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        FileUtils.deleteDirectory(tmpFolder.toFile());
+    }
+
+    @Test
+    void testEqualScreenshots() throws IOException {
+        BufferedImage image = createImage(10, 10);
+        Path baseline = writeImage(image, "baseline.png");
+        Path diff = tmpFolder.resolve("diff.png");
+
+        double difference = ScreenshotDiff.compare(toPng(image), baseline,
+                diff);
+        assertThat(difference, equalTo(0.0));
+        assertFalse(exists(diff));
+    }
+
+    @Test
+    void testDifferentScreenshots() throws IOException {
+        BufferedImage image = createImage(10, 10);
+        Path baseline = writeImage(image, "baseline.png");
+        Path diff = tmpFolder.resolve("diff.png");
+
+        for (int x = 0; x < 10; x++) {
+            image.setRGB(x, 0, 0xFF000000);
+        }
+        double difference = ScreenshotDiff.compare(toPng(image), baseline,
+                diff);
+        assertThat(difference, equalTo(0.1));
+        assertTrue(exists(diff));
+    }
+
+    @Test
+    void testDifferentSize() throws IOException {
+        Path baseline = writeImage(createImage(10, 10), "baseline.png");
+
+        double difference = ScreenshotDiff.compare(toPng(createImage(5, 5)),
+                baseline, null);
+        assertThat(difference, equalTo(1.0));
+    }
+
+    private BufferedImage createImage(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0xFFFFFFFF);
+            }
+        }
+        return image;
+    }
+
+    private Path writeImage(BufferedImage image, String name)
+            throws IOException {
+        Path file = tmpFolder.resolve(name);
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+
+    private byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright 2018 Boni Garcia (http://bonigarcia.github.io/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.github.bonigarcia.test.screenshot;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.readAllLines;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.bonigarcia.ContentHash;
+import io.github.bonigarcia.ScreenshotRepository;
+
+public class ScreenshotRepositoryTest {
+
+    Path tmpFolder;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tmpFolder = createTempDirectory("screenshot-repository");
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        FileUtils.deleteDirectory(tmpFolder.toFile());
+    }
+
+    @Test
+    void testDuplicatedScreenshots() throws IOException {
+        byte[] failure = "failure".getBytes();
+        String outputFolder = tmpFolder.toString();
+        ScreenshotRepository.store(failure, "test1", outputFolder);
+        ScreenshotRepository.store(failure, "test2", outputFolder);
+        ScreenshotRepository.store("other".getBytes(), "test3", outputFolder);
+
+        Path screenshots = tmpFolder.resolve("screenshots");
+        assertThat(screenshots.toFile().list().length, equalTo(3));
+        assertTrue(screenshots
+                .resolve(ContentHash.sha256(failure) + ".png").toFile()
+                .exists());
+        assertTrue(tmpFolder.resolve("test2.png").toFile().exists());
+
+        List<String> index = readAllLines(screenshots.resolve("index.jsonl"));
+        assertThat(index.size(), equalTo(3));
+        assertThat(index.get(1), containsString("\"test2.png\""));
+        assertThat(index.get(1),
+                containsString(ContentHash.sha256(failure)));
+    }
+
+}